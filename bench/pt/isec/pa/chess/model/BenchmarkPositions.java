@@ -0,0 +1,39 @@
+package pt.isec.pa.chess.model;
+
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.Fen;
+
+/**
+ * Fixed position set shared by all benchmarks, so results are comparable between runs
+ */
+public final class BenchmarkPositions {
+
+    public static final String[] FENS = {
+            Fen.START_POSITION,
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+            "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+            "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+            "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+            "6k1/5ppp/8/8/8/8/5PPP/3R2K1 b - - 0 1",           // back rank mate threat
+            "7k/5Q2/6K1/8/8/8/8/8 b - - 0 1"                    // stalemate
+    };
+
+    // Opening line played move by move in the play benchmark (Ruy Lopez, with castling)
+    public static final String[][] OPENING_LINE = {
+            {"e2", "e4"}, {"e7", "e5"}, {"g1", "f3"}, {"b8", "c6"}, {"f1", "b5"}, {"a7", "a6"},
+            {"b5", "a4"}, {"g8", "f6"}, {"e1", "g1"}, {"f8", "e7"}, {"f1", "e1"}, {"b7", "b5"},
+            {"a4", "b3"}, {"d7", "d6"}, {"c2", "c3"}, {"e8", "g8"}
+    };
+
+    private BenchmarkPositions() {}
+
+    public static ChessGame[] loadGames() {
+        ChessGame[] games = new ChessGame[FENS.length];
+        for (int i = 0; i < FENS.length; i++) {
+            games[i] = new ChessGame();
+            games[i].importFen(FENS[i]);
+        }
+        return games;
+    }
+}
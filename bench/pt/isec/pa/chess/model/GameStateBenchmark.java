@@ -0,0 +1,72 @@
+package pt.isec.pa.chess.model;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import pt.isec.pa.chess.memento.ChessGameMemento;
+import pt.isec.pa.chess.model.data.ChessGame;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Playing moves and copying game state: ChessGame.play, memento snapshots and CSV export/import
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameStateBenchmark {
+
+    private ChessGame[] games;
+    private ChessGameMemento[] mementos;
+    private String[] exported;
+
+    @Setup
+    public void setUp() throws IOException {
+        games = BenchmarkPositions.loadGames();
+        mementos = new ChessGameMemento[games.length];
+        exported = new String[games.length];
+        for (int i = 0; i < games.length; i++) {
+            mementos[i] = new ChessGameMemento(games[i]);
+            exported[i] = games[i].exportGameState();
+        }
+    }
+
+    // Includes creating the game: the line has to start from the initial position every time
+    @Benchmark
+    public ChessGame playOpeningLine() {
+        ChessGame game = new ChessGame();
+        for (String[] move : BenchmarkPositions.OPENING_LINE) {
+            if (!game.play(move[0], move[1]))
+                throw new IllegalStateException("Opening line rejected at " + move[0] + move[1]);
+        }
+        return game;
+    }
+
+    @Benchmark
+    public void createMemento(Blackhole bh) throws IOException {
+        for (ChessGame game : games)
+            bh.consume(new ChessGameMemento(game));
+    }
+
+    @Benchmark
+    public void restoreMemento(Blackhole bh) throws IOException, ClassNotFoundException {
+        for (ChessGameMemento memento : mementos)
+            bh.consume(memento.getState());
+    }
+
+    @Benchmark
+    public void exportGameState(Blackhole bh) {
+        for (ChessGame game : games)
+            bh.consume(game.exportGameState());
+    }
+
+    @Benchmark
+    public void importGameState(Blackhole bh) {
+        for (String data : exported)
+            bh.consume(new ChessGame(data));
+    }
+}
@@ -0,0 +1,84 @@
+package pt.isec.pa.chess.model;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import pt.isec.pa.chess.model.data.BitBoard;
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.Fen;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.Position;
+import pt.isec.pa.chess.model.data.pieces.PieceColor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Move generation and rule queries over the fixed position set
+ * Every benchmark covers all positions, so scores are per full pass over the set
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGenerationBenchmark {
+
+    private ChessGame[] games;
+    private Board[] boards;
+    private PieceColor[] sideToMove;
+    private final MoveList moves = new MoveList();
+
+    @Setup
+    public void setUp() {
+        games = BenchmarkPositions.loadGames();
+        boards = new Board[BenchmarkPositions.FENS.length];
+        sideToMove = new PieceColor[BenchmarkPositions.FENS.length];
+        for (int i = 0; i < boards.length; i++) {
+            boards[i] = new BitBoard();
+            sideToMove[i] = Fen.load(boards[i], BenchmarkPositions.FENS[i]);
+        }
+    }
+
+    @Benchmark
+    public void getPossibleMoves(Blackhole bh) {
+        for (ChessGame game : games) {
+            for (int sq = 0; sq < 64; sq++)
+                bh.consume(game.getPossibleMoves(Position.of(sq).toString()));
+        }
+    }
+
+    @Benchmark
+    public int generateLegalMoves() {
+        int total = 0;
+        for (ChessGame game : games)
+            total += game.generateLegalMoves(moves);
+        return total;
+    }
+
+    @Benchmark
+    public void checkmateAndStalemate(Blackhole bh) {
+        for (ChessGame game : games) {
+            bh.consume(game.isCheckmate(game.getCurrentPlayer()));
+            bh.consume(game.isStalemate(game.getCurrentPlayer()));
+        }
+    }
+
+    @Benchmark
+    public int isPositionUnderAttack() {
+        int attacked = 0;
+        for (int i = 0; i < boards.length; i++) {
+            for (int sq = 0; sq < 64; sq++) {
+                if (boards[i].isPositionUnderAttack(Position.of(sq), sideToMove[i].opposite()))
+                    attacked++;
+            }
+        }
+        return attacked;
+    }
+
+    @Benchmark
+    public long perft3() {
+        return games[0].perft(3);
+    }
+}
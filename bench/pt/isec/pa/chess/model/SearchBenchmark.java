@@ -0,0 +1,50 @@
+package pt.isec.pa.chess.model;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.search.LazySmpSearch;
+import pt.isec.pa.chess.model.search.SearchLimits;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time-to-depth of the Lazy SMP search over the fixed position set
+ * Compare the scores for each thread count: speedup = time(1 thread) / time(N threads)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SearchBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"5"})
+    public int depth;
+
+    private ChessGame[] games;
+    private LazySmpSearch search;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        games = BenchmarkPositions.loadGames();
+        search = new LazySmpSearch(threads, new TranspositionTable(64));
+    }
+
+    // Every measurement starts from an empty table so runs do not reuse each other's work
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        search.getTable().clear();
+    }
+
+    @Benchmark
+    public void timeToDepth(Blackhole bh) {
+        for (ChessGame game : games)
+            bh.consume(search.search(game, SearchLimits.depth(depth)));
+    }
+}
@@ -0,0 +1,66 @@
+package pt.isec.pa.chess.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.search.Search;
+import pt.isec.pa.chess.model.search.SearchConfig;
+import pt.isec.pa.chess.model.search.SearchLimits;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Node count and time-to-depth of the single-threaded search with each selective feature
+ * enabled on its own, none of them, or all of them
+ * The "nodes" secondary result is the number of nodes searched per pass over the position set
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SelectivityBenchmark {
+
+    @Param({"NONE", "NULL_MOVE", "LATE_MOVE_REDUCTIONS", "FUTILITY", "ASPIRATION", "ALL"})
+    public String features;
+
+    @Param({"6"})
+    public int depth;
+
+    private ChessGame[] games;
+    private Search search;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Nodes {
+        public long nodes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            nodes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        games = BenchmarkPositions.loadGames();
+        SearchConfig config = switch (features) {
+            case "NONE" -> SearchConfig.none();
+            case "ALL" -> SearchConfig.all();
+            default -> SearchConfig.of(SearchConfig.Feature.valueOf(features));
+        };
+        search = new Search(new TranspositionTable(64), config);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        search.getTable().clear();
+    }
+
+    @Benchmark
+    public void timeToDepth(Nodes counter) {
+        for (ChessGame game : games)
+            counter.nodes += search.search(game, SearchLimits.depth(depth)).getNodes();
+    }
+}
@@ -0,0 +1,15 @@
+package pt.isec.pa.chess;
+
+import pt.isec.pa.chess.model.UciCommands;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+
+// Motor em modo UCI (sem interface gráfica), para usar com interfaces e ferramentas de torneio
+public class UciMain {
+
+    public static void main(String[] args) {
+        UciCommands uci = new UciCommands(new BufferedReader(new InputStreamReader(System.in)), System.out);
+        uci.start();
+    }
+}
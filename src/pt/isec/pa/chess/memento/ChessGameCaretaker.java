@@ -1,84 +1,203 @@
 package pt.isec.pa.chess.memento;
 
-import pt.isec.pa.chess.model.ModelLog;
 import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.MoveDelta;
 
-import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.Deque;
 
 public class ChessGameCaretaker {
+    /**
+     * Forma de guardar o histórico:
+     * SNAPSHOT guarda uma fotografia imutável da posição a cada jogada (undo/redo devolvem jogos novos, no máximo 100);
+     * DELTA guarda o jogo completo num {@link GameHistory} e desfaz/refaz no próprio jogo
+     * com as diferenças das jogadas mais recentes.
+     */
+    public enum Mode { SNAPSHOT, DELTA }
+
+    private final Mode mode;
     private final Deque<ChessGameMemento> undoHistory;
     private final Deque<ChessGameMemento> redoHistory;
+    private final Deque<MoveDelta> undoDeltas; // só as mais recentes; antes disso reconstrói-se
+    private final Deque<MoveDelta> redoDeltas;
     private final int maxHistorySize;
+    private ChessGame game;       // jogo acompanhado no modo DELTA
+    private GameHistory history;  // todas as jogadas do jogo acompanhado
+    private int ply;              // jogadas feitas na posição atual
 
     public ChessGameCaretaker() {
+        this(Mode.SNAPSHOT);
+    }
+
+    public ChessGameCaretaker(Mode mode) {
+        if (mode == null)
+            throw new IllegalArgumentException("Invalid history mode");
+        this.mode = mode;
         this.undoHistory = new ArrayDeque<>();
         this.redoHistory = new ArrayDeque<>();
+        this.undoDeltas = new ArrayDeque<>();
+        this.redoDeltas = new ArrayDeque<>();
         this.maxHistorySize = 100;
     }
 
+    public Mode getMode() {
+        return mode;
+    }
+
     public void save(ChessGame game) { // chamado antes de cada move
+        if (mode == Mode.DELTA) {
+            saveDelta(game);
+            return;
+        }
         redoHistory.clear();
 
         if (undoHistory.size() >= maxHistorySize) { // caso o jogo seja muito comprido
             undoHistory.removeLast();
         }
 
-        try {
-            undoHistory.push(new ChessGameMemento(game));
-        } catch (IOException e) {
-            ModelLog.getInstance().addLog("Error saving game state: " + e.getMessage());
-            System.err.println("Error saving game state: " + e.getMessage());
+        undoHistory.push(new ChessGameMemento(game));
+    }
+
+    // Regista a última jogada do jogo; sem jogada (ex: estado inicial) passa a acompanhar este jogo
+    private void saveDelta(ChessGame game) {
+        MoveDelta delta = game.getLastDelta();
+        if (game != this.game || delta == null) {
+            initialize(game);
+            return;
         }
+        history.truncate(ply);
+        history.append(delta.getMove(), game);
+        ply++;
+        redoDeltas.clear();
+        pushUndo(delta);
+    }
+
+    /**
+     * Atualiza o registo da última jogada, completada depois do {@link #save} (ex: com a promoção).
+     *
+     * @param game jogo no estado final da jogada
+     */
+    public void update(ChessGame game) {
+        if (mode == Mode.DELTA) {
+            MoveDelta delta = game.getLastDelta();
+            if (game == this.game && delta != null && delta == undoDeltas.peek())
+                history.replaceLast(delta.getMove(), game);
+            return;
+        }
+        if (undoHistory.isEmpty())
+            return;
+        undoHistory.pop();
+        undoHistory.push(new ChessGameMemento(game));
     }
 
     public ChessGame undo() {
         if (!canUndo()) {
             return null;
         }
-
-        try {
-            ChessGameMemento current = undoHistory.pop();
-            ChessGameMemento previous = undoHistory.peek();
-            redoHistory.push(current);
-            return previous != null ? previous.getState() : null;
-        } catch (IOException | ClassNotFoundException e) {
-            ModelLog.getInstance().addLog("Error restoring game state: " + e.getMessage());
-            System.err.println("Error restoring game state: " + e.getMessage());
-            return null;
+        if (mode == Mode.DELTA) {
+            MoveDelta delta = undoDeltas.poll();
+            if (delta != null) {
+                game.undoMove(delta);
+                redoDeltas.push(delta);
+                ply--;
+                return game;
+            }
+            // Jogada mais antiga que as diferenças guardadas: reconstrói a partir da posição-chave
+            return goTo(ply - 1);
         }
+
+        ChessGameMemento current = undoHistory.pop();
+        ChessGameMemento previous = undoHistory.peek();
+        redoHistory.push(current);
+        return previous != null ? previous.getState() : null;
     }
 
     public ChessGame redo() {
         if (!canRedo()) {
             return null;
         }
-
-        try {
-            ChessGameMemento next = redoHistory.pop();
-            undoHistory.push(next);
-            return next.getState();
-        } catch (IOException | ClassNotFoundException e) {
-            ModelLog.getInstance().addLog("Error restoring game state: " + e.getMessage());
-            System.err.println("Error restoring game state: " + e.getMessage());
-            return null;
+        if (mode == Mode.DELTA) {
+            MoveDelta delta = redoDeltas.poll();
+            if (delta != null) {
+                game.redoMove(delta);
+            } else if (!game.playMove(history.getMove(ply))) {
+                return null;
+            }
+            pushUndo(game.getLastDelta());
+            ply++;
+            return game;
         }
+
+        ChessGameMemento next = redoHistory.pop();
+        undoHistory.push(next);
+        return next.getState();
+    }
+
+    /**
+     * Vai para qualquer jogada do histórico (só no modo DELTA). O jogo devolvido é novo,
+     * reconstruído a partir da posição-chave anterior; as jogadas seguintes continuam no histórico.
+     *
+     * @param target número de jogadas (0 = posição inicial)
+     * @return jogo nessa posição
+     */
+    public ChessGame goTo(int target) {
+        if (mode != Mode.DELTA || history == null)
+            throw new IllegalStateException("Random access requires an initialized DELTA history");
+        game = history.positionAt(target, game.getWhitePlayerName(), game.getBlackPlayerName());
+        ply = target;
+        undoDeltas.clear();
+        redoDeltas.clear();
+        return game;
+    }
+
+    // Jogadas feitas até à posição atual e total guardado (só no modo DELTA)
+    public int getPly() {
+        return ply;
+    }
+
+    public int getHistorySize() {
+        return history == null ? 0 : history.size();
+    }
+
+    // Histórico completo do jogo acompanhado (null no modo SNAPSHOT)
+    public GameHistory getHistory() {
+        return history;
     }
 
     public boolean canUndo() {
+        if (mode == Mode.DELTA)
+            return ply > 0;
         return undoHistory.size() > 1;
     }
     public boolean canRedo() {
+        if (mode == Mode.DELTA)
+            return history != null && ply < history.size();
         return !redoHistory.isEmpty();
     }
     public void clear() {
         undoHistory.clear();
         redoHistory.clear();
+        undoDeltas.clear();
+        redoDeltas.clear();
+        game = null;
+        history = null;
+        ply = 0;
     }
 
     public void initialize(ChessGame game) {
         clear();
-        save(game);
+        if (mode == Mode.DELTA) {
+            this.game = game; // o estado inicial já é o próprio jogo
+            this.history = new GameHistory(game);
+        } else {
+            save(game);
+        }
+    }
+
+    private void pushUndo(MoveDelta delta) {
+        if (undoDeltas.size() >= maxHistorySize) {
+            undoDeltas.removeLast();
+        }
+        undoDeltas.push(delta);
     }
-}
\ No newline at end of file
+}
@@ -1,29 +1,29 @@
 package pt.isec.pa.chess.memento;
 
+import pt.isec.pa.chess.model.data.BoardSnapshot;
 import pt.isec.pa.chess.model.data.ChessGame;
 
-import java.io.*;
+import java.io.Serializable;
 
-// Memento with serialization
+// Memento com uma fotografia imutável da posição (sem serializar o jogo inteiro)
 public class ChessGameMemento implements Serializable {
-    private final byte[] gameState;
+    private final BoardSnapshot snapshot;
+    private final String whitePlayerName;
+    private final String blackPlayerName;
 
-    public ChessGameMemento(ChessGame game) throws IOException { // Exception if serialization fails
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ObjectOutputStream oos = new ObjectOutputStream(baos);
-        oos.writeObject(game);
-        oos.close();
-        this.gameState = baos.toByteArray();
+    public ChessGameMemento(ChessGame game) {
+        this.snapshot = game.snapshot();
+        this.whitePlayerName = game.getWhitePlayerName();
+        this.blackPlayerName = game.getBlackPlayerName();
     }
 
-    //    Override
-    //    public Object getSnapshot() throws IOException, ClassNotFoundException {
-    public ChessGame getState() throws IOException, ClassNotFoundException { // Exception if serialization fails or chessGame not found
-        if (gameState == null) return null;
-        ByteArrayInputStream bais = new ByteArrayInputStream(gameState);
-        ObjectInputStream ois = new ObjectInputStream(bais);
-        ChessGame game = (ChessGame) ois.readObject();
-        ois.close();
+    public ChessGame getState() { // jogo novo, independente dos restantes estados
+        ChessGame game = new ChessGame(whitePlayerName, blackPlayerName);
+        game.restore(snapshot);
         return game;
     }
-}
\ No newline at end of file
+
+    public BoardSnapshot getSnapshot() {
+        return snapshot;
+    }
+}
@@ -0,0 +1,126 @@
+package pt.isec.pa.chess.memento;
+
+import pt.isec.pa.chess.model.data.BoardSnapshot;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.Move;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Histórico completo de um jogo, sem limite de jogadas e compacto em memória:
+ * cada jogada ocupa 2 bytes (origem, destino e promoção, como nos 15 bits baixos de {@link Move})
+ * e a cada {@link #KEYFRAME_INTERVAL} jogadas guarda-se a posição em FEN.
+ * Reconstruir a posição de uma jogada qualquer custa, no máximo, esse intervalo de jogadas
+ * a partir da posição-chave anterior.
+ */
+public class GameHistory {
+    public static final int KEYFRAME_INTERVAL = 32;
+
+    private static final int PACKED_MASK = 0x7FFF;
+
+    private short[] moves = new short[64];
+    private int size;
+    private final List<String> keyframes = new ArrayList<>(); // FEN na jogada i * KEYFRAME_INTERVAL
+    private final BoardSnapshot start;
+
+    /**
+     * @param start posição inicial do histórico
+     */
+    public GameHistory(ChessGame start) {
+        if (start == null)
+            throw new IllegalArgumentException("Invalid game");
+        keyframes.add(start.exportFen());
+        this.start = start.snapshot();
+    }
+
+    // Posição inicial do histórico
+    public BoardSnapshot getStart() {
+        return start;
+    }
+
+    // Número de jogadas guardadas
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Acrescenta uma jogada no fim do histórico.
+     *
+     * @param move jogada feita (com a peça de promoção, se houver)
+     * @param after jogo depois da jogada (usado para as posições-chave)
+     */
+    public void append(int move, ChessGame after) {
+        if (size == moves.length)
+            moves = Arrays.copyOf(moves, size * 2);
+        moves[size++] = (short) (move & PACKED_MASK);
+        if (size % KEYFRAME_INTERVAL == 0)
+            keyframes.add(after.exportFen());
+    }
+
+    // Substitui a última jogada, completada depois de registada (ex: com a peça de promoção)
+    public void replaceLast(int move, ChessGame after) {
+        if (size == 0)
+            throw new IllegalStateException("Empty history");
+        moves[size - 1] = (short) (move & PACKED_MASK);
+        if (size % KEYFRAME_INTERVAL == 0)
+            keyframes.set(keyframes.size() - 1, after.exportFen());
+    }
+
+    // Descarta as jogadas a partir de ply (ex: depois de desfazer e jogar outra coisa)
+    public void truncate(int ply) {
+        checkPly(ply);
+        size = ply;
+        int keep = ply / KEYFRAME_INTERVAL + 1;
+        while (keyframes.size() > keep)
+            keyframes.remove(keyframes.size() - 1);
+    }
+
+    /**
+     * @param ply índice da jogada (0 = primeira)
+     * @return jogada codificada só com origem, destino e promoção
+     */
+    public int getMove(int ply) {
+        if (ply < 0 || ply >= size)
+            throw new IllegalArgumentException("Invalid ply: " + ply);
+        return moves[ply] & PACKED_MASK;
+    }
+
+    /**
+     * @param count número de jogadas a devolver, a partir da primeira
+     * @return jogadas codificadas só com origem, destino e promoção
+     */
+    public int[] getMoves(int count) {
+        checkPly(count);
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++)
+            result[i] = moves[i] & PACKED_MASK;
+        return result;
+    }
+
+    /**
+     * Reconstrói o jogo depois de um número de jogadas, a partir da posição-chave anterior.
+     *
+     * @param ply número de jogadas já feitas (0 = posição inicial)
+     * @param whitePlayer nome do jogador das brancas
+     * @param blackPlayer nome do jogador das pretas
+     * @return novo jogo nessa posição
+     */
+    public ChessGame positionAt(int ply, String whitePlayer, String blackPlayer) {
+        checkPly(ply);
+        int keyframe = ply / KEYFRAME_INTERVAL;
+        ChessGame game = new ChessGame(whitePlayer, blackPlayer);
+        game.importFen(keyframes.get(keyframe));
+        for (int i = keyframe * KEYFRAME_INTERVAL; i < ply; i++) {
+            if (!game.playMove(moves[i] & PACKED_MASK))
+                throw new IllegalStateException("Corrupted history at ply " + i);
+        }
+        return game;
+    }
+
+    private void checkPly(int ply) {
+        if (ply < 0 || ply > size)
+            throw new IllegalArgumentException("Invalid ply: " + ply);
+    }
+}
@@ -0,0 +1,224 @@
+package pt.isec.pa.chess.memento;
+
+import pt.isec.pa.chess.model.data.BoardSnapshot;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.Move;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Árvore de variantes de um jogo: cada nó guarda a jogada que o originou, as continuações
+ * (a primeira é a linha principal) e a fotografia imutável da posição depois da jogada.
+ * Ir para qualquer nó não repete jogadas: basta repor a fotografia guardada.
+ * Jogar uma jogada que já existe entre as continuações reaproveita esse nó.
+ */
+public class VariationTree {
+
+    public static final class Node {
+        private final Node parent;
+        private int move;                // Move.NONE na raiz
+        private BoardSnapshot snapshot;  // posição depois da jogada
+        private final int ply;
+        private final List<Node> children = new ArrayList<>(1);
+        private String comment;
+
+        private Node(Node parent, int move, BoardSnapshot snapshot) {
+            this.parent = parent;
+            this.move = move;
+            this.snapshot = snapshot;
+            this.ply = parent == null ? 0 : parent.ply + 1;
+        }
+
+        public Node getParent() {
+            return parent;
+        }
+
+        public int getMove() {
+            return move;
+        }
+
+        public BoardSnapshot getSnapshot() {
+            return snapshot;
+        }
+
+        // Número de jogadas desde a posição inicial
+        public int getPly() {
+            return ply;
+        }
+
+        public List<Node> getChildren() {
+            return Collections.unmodifiableList(children);
+        }
+
+        // Continuação principal, ou null numa folha
+        public Node getMainContinuation() {
+            return children.isEmpty() ? null : children.get(0);
+        }
+
+        public String getComment() {
+            return comment;
+        }
+
+        public void setComment(String comment) {
+            this.comment = comment == null || comment.isBlank() ? null : comment;
+        }
+
+        // Jogadas desde a raiz até este nó
+        public List<Integer> getLine() {
+            List<Integer> line = new ArrayList<>(ply);
+            for (Node node = this; node.parent != null; node = node.parent)
+                line.add(node.move);
+            Collections.reverse(line);
+            return line;
+        }
+
+        @Override
+        public String toString() {
+            return parent == null ? "(start)" : (ply + 1) / 2 + (ply % 2 == 1 ? ". " : "... ") + Move.toString(move);
+        }
+    }
+
+    private final Node root;
+    private Node current;
+    private int size = 1;
+
+    /**
+     * @param start jogo na posição inicial da árvore
+     */
+    public VariationTree(ChessGame start) {
+        if (start == null)
+            throw new IllegalArgumentException("Invalid game");
+        root = new Node(null, Move.NONE, start.snapshot());
+        current = root;
+    }
+
+    public Node getRoot() {
+        return root;
+    }
+
+    public Node getCurrent() {
+        return current;
+    }
+
+    // Número de nós (posições) guardados, incluindo a raiz
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Regista uma jogada feita a partir do nó atual e avança para ela. Se já existir
+     * como continuação, reaproveita o nó; senão cria uma nova variante.
+     *
+     * @param move jogada feita (com a peça de promoção, se houver)
+     * @param after jogo depois da jogada
+     * @return nó da jogada, que passa a ser o atual
+     */
+    public Node addMove(int move, ChessGame after) {
+        if (move == Move.NONE || after == null)
+            throw new IllegalArgumentException("Invalid move or game");
+        for (Node child : current.children) {
+            if (child.move == move) {
+                current = child;
+                return child;
+            }
+        }
+        Node node = new Node(current, move, after.snapshot());
+        current.children.add(node);
+        size++;
+        current = node;
+        return node;
+    }
+
+    /**
+     * Atualiza a jogada do nó atual, completada depois de registada (ex: com a promoção).
+     * Se a jogada completa já existir como irmã, passa a usar esse nó.
+     *
+     * @param move jogada completa
+     * @param after jogo no estado final da jogada
+     */
+    public void update(int move, ChessGame after) {
+        Node parent = current.parent;
+        if (parent == null || current.move == move)
+            return;
+        for (Node sibling : parent.children) {
+            if (sibling != current && sibling.move == move) {
+                if (current.children.isEmpty())
+                    remove(current);
+                current = sibling;
+                return;
+            }
+        }
+        current.move = move;
+        current.snapshot = after.snapshot();
+    }
+
+    /**
+     * Torna atual um nó da árvore; o jogo deve ser reposto com {@link Node#getSnapshot()}.
+     *
+     * @param node nó de destino
+     */
+    public void goTo(Node node) {
+        if (node == null || !contains(node))
+            throw new IllegalArgumentException("Node does not belong to this tree");
+        current = node;
+    }
+
+    /**
+     * Passa uma variante a continuação principal do nó pai.
+     *
+     * @param node primeiro nó da variante
+     */
+    public void promote(Node node) {
+        if (node == null || node.parent == null || !contains(node))
+            throw new IllegalArgumentException("Invalid variation");
+        List<Node> siblings = node.parent.children;
+        siblings.remove(node);
+        siblings.add(0, node);
+    }
+
+    /**
+     * Apaga uma variante (o nó e todas as continuações). Se o nó atual estiver dentro dela,
+     * o atual passa a ser o pai do nó apagado.
+     *
+     * @param node primeiro nó da variante
+     */
+    public void remove(Node node) {
+        if (node == null || node.parent == null || !contains(node))
+            throw new IllegalArgumentException("Invalid variation");
+        for (Node n = current; n != null; n = n.parent) {
+            if (n == node) {
+                current = node.parent;
+                break;
+            }
+        }
+        node.parent.children.remove(node);
+        size -= count(node);
+    }
+
+    // Linha principal a partir da raiz (sem a raiz)
+    public List<Node> getMainLine() {
+        List<Node> line = new ArrayList<>();
+        for (Node node = root.getMainContinuation(); node != null; node = node.getMainContinuation())
+            line.add(node);
+        return line;
+    }
+
+    // O nó continua ligado à raiz (não pertence a outra árvore nem a uma variante apagada)
+    private boolean contains(Node node) {
+        Node n = node;
+        for (; n.parent != null; n = n.parent) {
+            if (!n.parent.children.contains(n))
+                return false;
+        }
+        return n == root;
+    }
+
+    private static int count(Node node) {
+        int total = 1;
+        for (Node child : node.children)
+            total += count(child);
+        return total;
+    }
+}
@@ -0,0 +1,108 @@
+package pt.isec.pa.chess.model;
+
+import pt.isec.pa.chess.model.data.pieces.PieceColor;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Relógio de xadrez para dois jogadores, com incremento (Fischer) por jogada.
+ * Só um dos relógios corre de cada vez; {@link #press(PieceColor)} termina a jogada
+ * de uma cor, soma-lhe o incremento e põe a correr o relógio do adversário.
+ * Thread-safe: pode ser lido pela interface enquanto o modelo o atualiza.
+ */
+public class ChessClock {
+    private final long initialMillis;
+    private final long incrementMillis;
+    private final LongSupplier nanoTime;
+
+    private final long[] remaining = new long[2]; // por ordinal de PieceColor
+    private PieceColor running;                   // null = parado
+    private long runningSince;
+
+    public ChessClock(long initialMillis, long incrementMillis) {
+        this(initialMillis, incrementMillis, System::nanoTime);
+    }
+
+    // Fonte de tempo configurável, para testes
+    ChessClock(long initialMillis, long incrementMillis, LongSupplier nanoTime) {
+        if (initialMillis < 1 || incrementMillis < 0)
+            throw new IllegalArgumentException("Invalid time control: " + initialMillis + "+" + incrementMillis);
+        this.initialMillis = initialMillis;
+        this.incrementMillis = incrementMillis;
+        this.nanoTime = nanoTime;
+        reset();
+    }
+
+    public long getInitialTime() {
+        return initialMillis;
+    }
+
+    public long getIncrement() {
+        return incrementMillis;
+    }
+
+    // Repõe o tempo inicial dos dois jogadores, com o relógio parado
+    public synchronized void reset() {
+        remaining[0] = initialMillis;
+        remaining[1] = initialMillis;
+        running = null;
+    }
+
+    // Põe a correr o relógio de uma cor (ex: no início do jogo ou depois de uma pausa)
+    public synchronized void start(PieceColor color) {
+        if (color == null)
+            throw new IllegalArgumentException("Invalid color");
+        pause();
+        running = color;
+        runningSince = nanoTime.getAsLong();
+    }
+
+    public synchronized void pause() {
+        if (running == null)
+            return;
+        remaining[running.ordinal()] -= (nanoTime.getAsLong() - runningSince) / 1_000_000L;
+        running = null;
+    }
+
+    /**
+     * Termina a jogada da cor indicada: desconta o tempo gasto, soma o incremento
+     * (se não tiver esgotado o tempo) e põe a correr o relógio do adversário.
+     *
+     * @param color cor que acabou de jogar
+     */
+    public synchronized void press(PieceColor color) {
+        if (color == null)
+            throw new IllegalArgumentException("Invalid color");
+        if (running == color)
+            pause();
+        if (remaining[color.ordinal()] > 0)
+            remaining[color.ordinal()] += incrementMillis;
+        start(color.opposite());
+    }
+
+    public synchronized PieceColor getRunning() {
+        return running;
+    }
+
+    // Tempo restante no instante atual (negativo se o tempo já acabou)
+    public synchronized long getRemaining(PieceColor color) {
+        long millis = remaining[color.ordinal()];
+        if (running == color)
+            millis -= (nanoTime.getAsLong() - runningSince) / 1_000_000L;
+        return millis;
+    }
+
+    public boolean isFlagged(PieceColor color) {
+        return getRemaining(color) <= 0;
+    }
+
+    // Formato m:ss, ou m:ss.d abaixo de 10 segundos
+    public static String format(long millis) {
+        long clamped = Math.max(0, millis);
+        long minutes = clamped / 60_000;
+        long seconds = clamped / 1000 % 60;
+        if (clamped < 10_000)
+            return String.format("%d:%02d.%d", minutes, seconds, clamped / 100 % 10);
+        return String.format("%d:%02d", minutes, seconds);
+    }
+}
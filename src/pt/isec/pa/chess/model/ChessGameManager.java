@@ -1,17 +1,32 @@
 package pt.isec.pa.chess.model;
 
+import pt.isec.pa.chess.model.data.Board;
 import pt.isec.pa.chess.model.data.ChessGame;
 import pt.isec.pa.chess.model.data.ChessGameSerialization;
 import pt.isec.pa.chess.model.data.End_Type;
+import pt.isec.pa.chess.model.data.Move;
+import pt.isec.pa.chess.model.data.Position;
 import pt.isec.pa.chess.model.data.pieces.Piece;
 import pt.isec.pa.chess.model.data.pieces.PieceColor;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
 import pt.isec.pa.chess.memento.ChessGameCaretaker;
+import pt.isec.pa.chess.memento.GameHistory;
+import pt.isec.pa.chess.memento.VariationTree;
+import pt.isec.pa.chess.model.search.LazySmpSearch;
+import pt.isec.pa.chess.model.search.SearchLimits;
+import pt.isec.pa.chess.model.search.SearchResult;
+import pt.isec.pa.chess.model.search.TimeManager;
 
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Gestor principal do jogo de xadrez.
@@ -22,6 +37,7 @@ public class ChessGameManager {
     private ChessGame game;
     private final PropertyChangeSupport pcs;
     private final ChessGameCaretaker caretaker;
+    private VariationTree variations;
     private boolean gameEndedNotified = false;
 
     public static final String PROP_BOARD = "boardState";
@@ -30,20 +46,43 @@ public class ChessGameManager {
     public static final String PROP_SELECTED_PIECE = "selectedPiece";
     public static final String PROP_POSSIBLE_MOVES = "possibleMoves";
     public static final String PROP_MOVE_MADE = "moveMade";
+    public static final String PROP_CLOCK = "clock";
+    public static final String PROP_VARIATIONS = "variations";
 
     private boolean learningMode = false;
     private boolean showMovesMode = false;
     private String selectedPiecePosition = null;
     private List<String> possibleMoves = null;
 
+    public static final long DEFAULT_COMPUTER_TIME_MS = 1000;
+
+    private LazySmpSearch search = new LazySmpSearch();
+    private PieceColor computerPlayer = null; // null = dois jogadores humanos
+    private long computerTimeMillis = DEFAULT_COMPUTER_TIME_MS;
+    private ChessClock clock = null; // null = jogo sem relógio
+
+    // A pesquisa do computador corre numa thread própria; a jogada é aplicada pelo moveExecutor
+    private final ExecutorService computerExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "computer-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Executor moveExecutor = Runnable::run;
+    private Future<?> computerTask;
+    private volatile int computerSearchId;  // pesquisas com outro id foram canceladas
+    private volatile boolean computerThinking;
+    private volatile TimeManager computerTime;   // orçamento da pesquisa em curso com relógio
+    private volatile long computerSearchStart;
+
     /**
      * Construtor que inicializa um novo gestor de jogo.
      */
     public ChessGameManager() {
         game = new ChessGame();
         pcs = new PropertyChangeSupport(this);
-        caretaker = new ChessGameCaretaker();
+        caretaker = new ChessGameCaretaker(ChessGameCaretaker.Mode.DELTA);
         caretaker.initialize(game);
+        variations = new VariationTree(game);
         clearSelectedPiece();
     }
 
@@ -66,22 +105,30 @@ public class ChessGameManager {
      * @param player2 nome do segundo jogador (pretas)
      */
     public void newGame(String player1, String player2) {
+        cancelComputerMove();
         ChessGame oldGame = this.game;
         game = new ChessGame(player1, player2);
         notifyGameStateChanged(oldGame);
         caretaker.initialize(game);
+        resetVariations();
         log("Novo jogo criado: " + player1 + " vs " + player2);
         clearSelectedPiece();
+        restartClock();
     }
 
     /**
-     * Guarda o jogo atual em formato serializado.
+     * Guarda o jogo atual no formato binário de {@link ChessGameSerialization},
+     * com as jogadas feitas até à posição atual.
      *
      * @param file ficheiro onde guardar o jogo
      */
     public void saveGame(File file) {
         try {
-            ChessGameSerialization.serialize(game, file.getPath());
+            GameHistory history = caretaker.getHistory();
+            if (history != null)
+                ChessGameSerialization.serialize(game, history.getStart(), history.getMoves(caretaker.getPly()), file.getPath());
+            else
+                ChessGameSerialization.serialize(game, file.getPath());
             log("Jogo guardado: " + file.getName());
         } catch (IOException e) {
             log("Erro ao guardar jogo: " + e.getMessage());
@@ -89,19 +136,33 @@ public class ChessGameManager {
     }
 
     /**
-     * Importa um jogo de formato serializado.
+     * Abre um jogo guardado com {@link #saveGame}. Se o ficheiro tiver as jogadas,
+     * são repetidas a partir da posição inicial para repor o histórico e as variantes.
      *
      * @param file ficheiro com o jogo guardado
      */
     public void openGame(File file) {
+        cancelComputerMove();
+        ChessGame oldGame = this.game;
         try {
-            ChessGame oldGame = this.game;
-            game = ChessGameSerialization.deserialize(file.getPath());
+            ChessGameSerialization.SavedGame saved = ChessGameSerialization.load(file.getPath());
+            if (!replay(saved)) {
+                game = saved.getGame();
+                caretaker.initialize(game);
+                resetVariations();
+            }
             notifyGameStateChanged(oldGame);
-            caretaker.initialize(game);
             log("Jogo carregado: " + file.getName());
             clearSelectedPiece();
-        } catch (IOException | ClassNotFoundException e) {
+            restartClock();
+        } catch (IOException | IllegalArgumentException e) {
+            // Ficheiro inválido (incluindo o formato antigo, com serialização Java): o jogo anterior mantém-se
+            if (game != oldGame) {
+                game = oldGame;
+                caretaker.initialize(game);
+                resetVariations();
+                fireBoardUpdate();
+            }
             log("Erro ao abrir jogo: " + e.getMessage());
         }
     }
@@ -114,10 +175,12 @@ public class ChessGameManager {
      * @param blackPlayerName nome do jogador preto
      */
     public void importPartial(File file, String whitePlayerName, String blackPlayerName) {
+        cancelComputerMove();
         try {
             game.loadFromFile(file.getPath(), whitePlayerName, blackPlayerName);
             notifyGameStateChanged(null);
             caretaker.initialize(game);
+            resetVariations();
             log("Jogo importado de: " + file.getName());
         } catch (IllegalArgumentException e) {
             log("Erro ao importar jogo de " + file.getName() + ": " + e.getMessage());
@@ -146,7 +209,17 @@ public class ChessGameManager {
      */
     public boolean play(String from, String to) {
 
+        if (computerThinking) {
+            log("O computador está a pensar");
+            clearSelectedPiece();
+            return false;
+        }
         PieceColor currentPlayer = getCurrentPlayer();
+        if (isTimeOut(currentPlayer)) {
+            log("Tempo esgotado: " + currentPlayer);
+            clearSelectedPiece();
+            return false;
+        }
         PieceColor opponent = currentPlayer.opposite();
         String pieceType = getPieceAt(from);
         boolean isCapture = getPieceAt(to) != null;
@@ -154,6 +227,11 @@ public class ChessGameManager {
         boolean result = game.play(from, to);
         if (result) {
             caretaker.save(game);
+            recordVariation();
+            if (clock != null) {
+                clock.press(currentPlayer);
+                pcs.firePropertyChange(PROP_CLOCK, null, clock);
+            }
             fireBoardUpdate();
             log(currentPlayer + (isCapture ? " captura " : " move ") + from + " -> " + to);
 
@@ -168,9 +246,246 @@ public class ChessGameManager {
         }
 
         clearSelectedPiece();
+        // Se o peão chegou à última linha o computador só joga depois da promoção
+        if (result && !isPromotionPending(to))
+            playComputerMoveIfTurn();
         return result;
     }
 
+    /**
+     * Define a cor jogada pelo computador. Se for a vez dessa cor, o computador joga de imediato.
+     *
+     * @param color cor do computador, ou null para desativar
+     */
+    public void setComputerPlayer(PieceColor color) {
+        cancelComputerMove();
+        this.computerPlayer = color;
+        log(color == null ? "Computador desativado" : "Computador joga com as " + color);
+        playComputerMoveIfTurn();
+    }
+
+    /**
+     * Obtém a cor jogada pelo computador.
+     *
+     * @return cor do computador, ou null se estiver desativado
+     */
+    public PieceColor getComputerPlayer() {
+        return computerPlayer;
+    }
+
+    /**
+     * Define o tempo de pesquisa por jogada do computador.
+     *
+     * @param millis tempo em milissegundos
+     */
+    public void setComputerTime(long millis) {
+        if (millis < 1)
+            throw new IllegalArgumentException("Invalid time: " + millis);
+        this.computerTimeMillis = millis;
+    }
+
+    public long getComputerTime() {
+        return computerTimeMillis;
+    }
+
+    /**
+     * Ativa o relógio com o controlo de tempo indicado e reinicia-o para o jogo atual.
+     * Com relógio, o tempo de cada jogada do computador é decidido pelo {@link TimeManager}.
+     *
+     * @param initialMillis tempo inicial de cada jogador
+     * @param incrementMillis incremento por jogada
+     */
+    public void setClock(long initialMillis, long incrementMillis) {
+        clock = new ChessClock(initialMillis, incrementMillis);
+        log("Relógio: " + ChessClock.format(initialMillis) + " + " + incrementMillis / 1000 + "s");
+        restartClock();
+    }
+
+    /**
+     * Desativa o relógio.
+     */
+    public void clearClock() {
+        clock = null;
+        log("Relógio desativado");
+        pcs.firePropertyChange(PROP_CLOCK, null, null);
+    }
+
+    public boolean hasClock() {
+        return clock != null;
+    }
+
+    /**
+     * Obtém o tempo restante de um jogador.
+     *
+     * @param color cor do jogador
+     * @return tempo em milissegundos, ou -1 se o jogo não tiver relógio
+     */
+    public long getRemainingTime(PieceColor color) {
+        return clock == null ? -1 : Math.max(0, clock.getRemaining(color));
+    }
+
+    /**
+     * Verifica se o tempo de um jogador acabou.
+     *
+     * @param color cor do jogador
+     * @return true se o jogo tem relógio e o tempo do jogador chegou a zero
+     */
+    public boolean isTimeOut(PieceColor color) {
+        return clock != null && clock.isFlagged(color);
+    }
+
+    private void restartClock() {
+        if (clock == null)
+            return;
+        clock.reset();
+        clock.start(getCurrentPlayer());
+        pcs.firePropertyChange(PROP_CLOCK, null, clock);
+    }
+
+    /**
+     * Define o número de threads usadas pela pesquisa do computador (por omissão, uma por núcleo).
+     *
+     * @param threads número de threads
+     */
+    public void setComputerThreads(int threads) {
+        if (threads != search.getThreads()) {
+            cancelComputerMove();
+            search = new LazySmpSearch(threads);
+        }
+    }
+
+    public int getComputerThreads() {
+        return search.getThreads();
+    }
+
+    /**
+     * Define onde é aplicada a jogada encontrada pelo computador (ex: {@code Platform::runLater}
+     * na interface gráfica). Por omissão é aplicada na própria thread da pesquisa.
+     *
+     * @param executor executor das jogadas do computador
+     */
+    public void setComputerMoveExecutor(Executor executor) {
+        if (executor == null)
+            throw new IllegalArgumentException("Invalid executor");
+        this.moveExecutor = executor;
+    }
+
+    /**
+     * Pesquisa em segundo plano a melhor jogada para o jogador atual; a jogada é executada
+     * quando a pesquisa termina, salvo se entretanto for cancelada (novo jogo, undo, ...).
+     *
+     * @return true se a pesquisa foi iniciada
+     */
+    public boolean playComputerMove() {
+        PieceColor color = getCurrentPlayer();
+        if (computerThinking || game.isGameEnded() || isTimeOut(color))
+            return false;
+
+        TimeManager timeManager = clock == null ? null
+                : new TimeManager(clock.getRemaining(color), clock.getIncrement(), 0);
+        SearchLimits limits = timeManager == null ? SearchLimits.time(computerTimeMillis) : SearchLimits.clock(timeManager);
+        Board board = game.copyBoard(); // o jogo só é lido nesta thread
+        LazySmpSearch engine = search;
+        int id = ++computerSearchId;
+        computerTime = timeManager;
+        computerSearchStart = System.nanoTime();
+        computerThinking = true;
+        if (clock != null)
+            pcs.firePropertyChange(PROP_CLOCK, null, clock);
+        computerTask = computerExecutor.submit(() -> {
+            engine.clearStop();
+            if (id != computerSearchId)
+                return; // cancelada antes de começar; um cancelamento depois daqui chega ao stop
+            SearchResult result = engine.search(board, color, limits);
+            moveExecutor.execute(() -> applyComputerMove(id, result));
+        });
+        return true;
+    }
+
+    public boolean isComputerThinking() {
+        return computerThinking;
+    }
+
+    /**
+     * Tempo que o computador ainda prevê gastar na jogada em curso. Com relógio segue o
+     * limite suave do {@link TimeManager}, ajustado pela pesquisa a cada iteração.
+     *
+     * @return tempo em milissegundos, ou -1 se o computador não estiver a pensar
+     */
+    public long getComputerTimeLeft() {
+        if (!computerThinking)
+            return -1;
+        TimeManager timeManager = computerTime;
+        long budget = timeManager == null ? computerTimeMillis : timeManager.getAdjustedSoftLimit();
+        return Math.max(0, budget - (System.nanoTime() - computerSearchStart) / 1_000_000L);
+    }
+
+    /**
+     * Espera que a pesquisa do computador em curso termine (ex: em testes ou na consola).
+     * Com o executor por omissão, a jogada já foi aplicada quando este método retorna.
+     */
+    public void waitForComputer() {
+        Future<?> task = computerTask;
+        if (task == null)
+            return;
+        try {
+            task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log("Erro na pesquisa do computador: " + e.getCause());
+        }
+    }
+
+    // Descarta a pesquisa em curso (a jogada que encontrar é ignorada)
+    private void cancelComputerMove() {
+        if (!computerThinking)
+            return;
+        computerSearchId++;
+        computerThinking = false;
+        search.stop();
+        if (clock != null)
+            pcs.firePropertyChange(PROP_CLOCK, null, clock);
+    }
+
+    private void applyComputerMove(int id, SearchResult result) {
+        if (id != computerSearchId)
+            return;
+        computerThinking = false;
+        int move = result == null ? Move.NONE : result.getBestMove();
+        if (move == Move.NONE)
+            return;
+
+        log("Computador: " + result);
+        playMove(move);
+    }
+
+    /**
+     * Executa uma jogada codificada em {@link Move}, incluindo a promoção.
+     *
+     * @param move jogada
+     * @return true se a jogada foi executada
+     */
+    public boolean playMove(int move) {
+        String to = Position.of(Move.to(move)).toString();
+        if (!play(Position.of(Move.from(move)).toString(), to))
+            return false;
+        PieceType promotion = Move.promotion(move);
+        if (promotion != null)
+            promotePawnAt(to, promotion.name());
+        return true;
+    }
+
+    private void playComputerMoveIfTurn() {
+        if (computerPlayer != null && computerPlayer == getCurrentPlayer() && !game.isGameEnded() && !isTimeOut(computerPlayer))
+            playComputerMove();
+    }
+
+    private boolean isPromotionPending(String position) {
+        String piece = getPieceAt(position);
+        return piece != null && (piece.charAt(0) == 'P' && position.endsWith("8") || piece.charAt(0) == 'p' && position.endsWith("1"));
+    }
+
     /**
      * Promove um peão na posição especificada.
      *
@@ -179,8 +494,14 @@ public class ChessGameManager {
      */
     public void promotePawnAt(String position, String promotionType) {
         game.promotePawnAt(position, promotionType);
+        caretaker.update(game);
+        if (game.getLastDelta() != null) {
+            variations.update(game.getLastDelta().getMove(), game);
+            pcs.firePropertyChange(PROP_VARIATIONS, null, variations.getCurrent());
+        }
         fireBoardUpdate();
         log("Peão promovido a: " + promotionType);
+        playComputerMoveIfTurn();
     }
 
     /**
@@ -190,9 +511,14 @@ public class ChessGameManager {
      */
     public boolean undo() {
         if (!canUndo()) return false;
+        cancelComputerMove();
         ChessGame restored = caretaker.undo();
         if (restored != null) {
             game = restored;
+            if (variations.getCurrent().getParent() != null) {
+                variations.goTo(variations.getCurrent().getParent());
+                pcs.firePropertyChange(PROP_VARIATIONS, null, variations.getCurrent());
+            }
             fireBoardUpdate();
             log("Desfazer jogada");
             clearSelectedPiece();
@@ -208,9 +534,11 @@ public class ChessGameManager {
      */
     public boolean redo() {
         if (!canRedo()) return false;
+        cancelComputerMove();
         ChessGame restored = caretaker.redo();
         if (restored != null) {
             game = restored;
+            recordVariation();
             fireBoardUpdate();
             log("Refazer jogada");
             clearSelectedPiece();
@@ -219,6 +547,87 @@ public class ChessGameManager {
         return false;
     }
 
+    // === Variations ===
+    /**
+     * Obtém a árvore de variantes do jogo atual (jogadas alternativas ficam guardadas).
+     *
+     * @return árvore de variantes
+     */
+    public VariationTree getVariationTree() {
+        return variations;
+    }
+
+    /**
+     * Vai para uma posição da árvore de variantes. As jogadas desde a raiz são repetidas,
+     * para o undo/redo e o jogo guardado continuarem a ter a linha inteira até esse nó.
+     *
+     * @param node nó de destino
+     * @return true se a posição foi reposta
+     */
+    public boolean goToVariation(VariationTree.Node node) {
+        cancelComputerMove();
+        try {
+            variations.goTo(node);
+        } catch (IllegalArgumentException e) {
+            log("Variante inválida");
+            return false;
+        }
+        ChessGame oldGame = game;
+        rebuildHistory(node);
+        pcs.firePropertyChange(PROP_VARIATIONS, null, node);
+        notifyGameStateChanged(oldGame);
+        clearSelectedPiece();
+        log("Variante: " + node);
+        return true;
+    }
+
+    // Repete a linha desde a raiz até ao nó, para o undo e o jogo guardado cobrirem a linha inteira
+    private void rebuildHistory(VariationTree.Node node) {
+        game = new ChessGame(game.getWhitePlayerName(), game.getBlackPlayerName());
+        game.restore(variations.getRoot().getSnapshot());
+        caretaker.initialize(game);
+        for (int move : node.getLine()) {
+            if (!game.playMove(move))
+                break;
+            caretaker.save(game);
+        }
+        if (!game.snapshot().equals(node.getSnapshot())) {
+            // Não deve acontecer; fica pelo menos a posição do nó
+            game.restore(node.getSnapshot());
+            caretaker.initialize(game);
+        }
+    }
+
+    // Repete as jogadas guardadas; falha se não existirem ou não chegarem à posição guardada
+    private boolean replay(ChessGameSerialization.SavedGame saved) {
+        if (saved.getStart() == null)
+            return false;
+        ChessGame target = saved.getGame();
+        game = new ChessGame(target.getWhitePlayerName(), target.getBlackPlayerName());
+        game.restore(saved.getStart());
+        caretaker.initialize(game);
+        resetVariations();
+        for (int move : saved.getMoves()) {
+            if (!game.playMove(move))
+                return false;
+            caretaker.save(game);
+            variations.addMove(game.getLastDelta().getMove(), game);
+        }
+        return game.snapshot().equals(target.snapshot());
+    }
+
+    private void recordVariation() {
+        if (game.getLastDelta() == null)
+            return;
+        variations.addMove(game.getLastDelta().getMove(), game);
+        pcs.firePropertyChange(PROP_VARIATIONS, null, variations.getCurrent());
+    }
+
+    private void resetVariations() {
+        variations = new VariationTree(game);
+        pcs.firePropertyChange(PROP_VARIATIONS, null, variations.getCurrent());
+    }
+
     // === Accessors ===
     /**
      * Obtém a cor do jogador atual.
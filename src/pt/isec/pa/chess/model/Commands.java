@@ -1,13 +1,19 @@
 package pt.isec.pa.chess.model;
 
 import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.Move;
+import pt.isec.pa.chess.model.search.Search;
+import pt.isec.pa.chess.model.search.SearchLimits;
+import pt.isec.pa.chess.model.search.SearchResult;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 
 public class Commands {
     private ChessGame game;
     private final Scanner scanner = new Scanner(System.in);
+    private final Search search = new Search();
 
     public Commands(ChessGame game) {
         this.game = game;
@@ -42,6 +48,8 @@ public class Commands {
             case "find" -> handleFindCommand(parts);
             case "save" -> handleSaveCommand(parts);
             case "load" -> handleLoadCommand(parts);
+            case "perft" -> handlePerftCommand(parts);
+            case "go" -> handleGoCommand(parts);
             default -> printHelp();
         }
     }
@@ -115,6 +123,61 @@ public class Commands {
         }
     }
 
+    private void handlePerftCommand(String[] parts) {
+        if (parts.length != 2) {
+            printHelp();
+            return;
+        }
+
+        try {
+            int depth = Integer.parseInt(parts[1]);
+            long start = System.nanoTime();
+            Map<String, Long> divide = game.divide(depth);
+            long elapsed = Math.max(1, System.nanoTime() - start);
+
+            long total = 0;
+            for (Map.Entry<String, Long> entry : divide.entrySet()) {
+                System.out.println(entry.getKey() + ": " + entry.getValue());
+                total += entry.getValue();
+            }
+            System.out.println("Nós: " + total);
+            System.out.printf("Tempo: %.3f s (%.0f nós/s)%n", elapsed / 1e9, total * 1e9 / elapsed);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Profundidade inválida: " + parts[1]);
+        }
+    }
+
+    private void handleGoCommand(String[] parts) {
+        if (parts.length != 2) {
+            printHelp();
+            return;
+        }
+
+        long millis;
+        try {
+            millis = Long.parseLong(parts[1]);
+        } catch (NumberFormatException e) {
+            System.err.println("Tempo inválido: " + parts[1]);
+            return;
+        }
+        if (millis < 1) {
+            System.err.println("Tempo inválido: " + parts[1]);
+            return;
+        }
+
+        SearchResult result = search.search(game, SearchLimits.time(millis));
+        if (result == null || result.getBestMove() == Move.NONE) {
+            System.out.println("Sem jogadas possíveis.");
+            return;
+        }
+        System.out.println(result);
+
+        int move = result.getBestMove();
+        if (game.playMove(move)) {
+            game.printBoard();
+            System.out.println("Computador jogou " + Move.toString(move));
+        }
+    }
 
     private void printHelp() {
         System.out.println("Comandos suportados:");
@@ -123,6 +186,8 @@ public class Commands {
         System.out.println("  find <id_da_peça>            - Mostra a posição de uma peça");
         System.out.println("  save <ficheiro>              - Salva o estado do jogo num ficheiro");
         System.out.println("  load <ficheiro>              - Carrega o estado do jogo de um ficheiro");
+        System.out.println("  perft <profundidade>         - Conta as posições até à profundidade (por jogada)");
+        System.out.println("  go <milissegundos>           - O computador pesquisa e joga pelo jogador atual");
         System.out.println("  exit                         - Termina o programa");
     }
 }
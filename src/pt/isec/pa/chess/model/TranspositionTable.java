@@ -0,0 +1,209 @@
+package pt.isec.pa.chess.model;
+
+import pt.isec.pa.chess.model.data.Move;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tabela de transposição de tamanho fixo (potência de 2), partilhada por várias threads sem locks.
+ * Cada entrada ocupa dois longs seguidos num array: (chave XOR dados, dados).
+ * Uma escrita concorrente que misture metades de entradas diferentes deixa de validar
+ * a chave e é tratada como falha, por isso não é preciso sincronização.
+ * <pre>
+ * dados: bits  0-19  jogada (ver {@link Move})
+ *        bits 20-35  pontuação (16 bits com sinal)
+ *        bits 36-43  profundidade
+ *        bits 44-45  tipo de limite (ordinal de Bound + 1, nunca 0)
+ *        bits 46-53  geração da pesquisa que escreveu a entrada
+ * </pre>
+ * As chaves são as de Zobrist da posição ({@link pt.isec.pa.chess.model.data.ChessGame#getZobristKey()}).
+ */
+public class TranspositionTable {
+
+    public enum Bound { EXACT, LOWER, UPPER }
+
+    public enum ReplacementPolicy {
+        DEPTH_PREFERRED, // só substitui entradas menos profundas ou de pesquisas anteriores
+        ALWAYS_REPLACE
+    }
+
+    public static final long NONE = 0L; // resultado de probe sem entrada
+    public static final int MAX_DEPTH = 0xFF;
+
+    private static final int ENTRY_BYTES = 2 * Long.BYTES;
+    private static final int MOVE_MASK = (1 << 20) - 1;
+    private static final int SCORE_SHIFT = 20;
+    private static final int DEPTH_SHIFT = 36;
+    private static final int BOUND_SHIFT = 44;
+    private static final int GENERATION_SHIFT = 46;
+    private static final Bound[] BOUNDS = Bound.values();
+
+    private final long[] table;
+    private final int mask;
+    private final ReplacementPolicy policy;
+    private volatile int generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+
+    public TranspositionTable(int sizeMb) {
+        this(sizeMb, ReplacementPolicy.DEPTH_PREFERRED);
+    }
+
+    /**
+     * @param sizeMb memória máxima em MB (arredondada para baixo para uma potência de 2 entradas)
+     * @param policy política de substituição
+     */
+    public TranspositionTable(int sizeMb, ReplacementPolicy policy) {
+        if (sizeMb < 1 || sizeMb > 16384)
+            throw new IllegalArgumentException("Invalid size: " + sizeMb + " MB");
+        if (policy == null)
+            throw new IllegalArgumentException("Invalid replacement policy");
+
+        long entries = Long.highestOneBit((long) sizeMb * 1024 * 1024 / ENTRY_BYTES);
+        entries = Math.min(entries, 1L << 29); // limite de um array Java (2 longs por entrada)
+        this.table = new long[(int) entries * 2];
+        this.mask = (int) entries - 1;
+        this.policy = policy;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public ReplacementPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Procura a posição na tabela.
+     *
+     * @param key chave de Zobrist
+     * @return dados da entrada (descodificar com depth/score/move/bound) ou {@link #NONE}
+     */
+    public long probe(long key) {
+        int i = index(key);
+        long data = table[i + 1];
+        long stored = table[i] ^ data;
+
+        if (data == NONE) {
+            misses.increment();
+            return NONE;
+        }
+        if (stored != key) {
+            collisions.increment();
+            return NONE;
+        }
+        hits.increment();
+        return data;
+    }
+
+    /**
+     * Guarda o resultado da pesquisa de uma posição, de acordo com a política de substituição.
+     *
+     * @param key chave de Zobrist
+     * @param depth profundidade pesquisada (0 a {@link #MAX_DEPTH})
+     * @param score pontuação (cabe em 16 bits com sinal)
+     * @param bound tipo de limite da pontuação
+     * @param move melhor jogada, ou {@link Move#NONE}
+     */
+    public void store(long key, int depth, int score, Bound bound, int move) {
+        if (depth < 0 || depth > MAX_DEPTH || score < Short.MIN_VALUE || score > Short.MAX_VALUE || bound == null)
+            throw new IllegalArgumentException("Invalid entry");
+
+        int i = index(key);
+        long oldData = table[i + 1];
+        boolean sameKey = (table[i] ^ oldData) == key;
+
+        if (policy == ReplacementPolicy.DEPTH_PREFERRED && oldData != NONE
+                && generation(oldData) == generation
+                && depth < depth(oldData)
+                && !(sameKey && bound == Bound.EXACT))
+            return;
+
+        // Sem jogada nova, mantém a da entrada anterior da mesma posição
+        if (move == Move.NONE && sameKey)
+            move = move(oldData);
+
+        long data = (move & MOVE_MASK)
+                | ((long) (score & 0xFFFF) << SCORE_SHIFT)
+                | ((long) depth << DEPTH_SHIFT)
+                | ((long) (bound.ordinal() + 1) << BOUND_SHIFT)
+                | ((long) generation << GENERATION_SHIFT);
+        table[i] = key ^ data;
+        table[i + 1] = data;
+        stores.increment();
+    }
+
+    // Início de uma nova pesquisa: as entradas antigas passam a poder ser substituídas
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0L);
+        generation = 0;
+        hits.reset();
+        misses.reset();
+        collisions.reset();
+        stores.reset();
+    }
+
+    // Ocupação em permilagem, estimada pelas primeiras 1000 entradas (como o "hashfull" do UCI)
+    public int hashfull() {
+        int sample = Math.min(1000, capacity());
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            long data = table[2 * i + 1];
+            if (data != NONE && generation(data) == generation)
+                used++;
+        }
+        return used * 1000 / sample;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    // Entrada ocupada por outra posição (ou escrita a meio por outra thread)
+    public long getCollisions() {
+        return collisions.sum();
+    }
+
+    public long getStores() {
+        return stores.sum();
+    }
+
+    // Descodificação dos dados devolvidos por probe
+
+    public static int depth(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    public static int score(long data) {
+        return (short) (data >>> SCORE_SHIFT);
+    }
+
+    public static int move(long data) {
+        return (int) data & MOVE_MASK;
+    }
+
+    public static Bound bound(long data) {
+        return BOUNDS[(int) (data >>> BOUND_SHIFT & 0x3) - 1];
+    }
+
+    private static int generation(long data) {
+        return (int) (data >>> GENERATION_SHIFT) & 0xFF;
+    }
+
+    private int index(long key) {
+        return ((int) key & mask) << 1;
+    }
+}
@@ -0,0 +1,323 @@
+package pt.isec.pa.chess.model;
+
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.Move;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.pieces.PieceColor;
+import pt.isec.pa.chess.model.search.LazySmpSearch;
+import pt.isec.pa.chess.model.search.SearchLimits;
+import pt.isec.pa.chess.model.search.SearchResult;
+import pt.isec.pa.chess.model.search.TimeManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Interface UCI (Universal Chess Interface) sobre o ChessGame, para ligar o motor
+ * a interfaces gráficas e torneios. Lê comandos linha a linha e responde no output.
+ * A pesquisa corre numa thread própria, para que "stop" e "isready" sejam atendidos
+ * enquanto pesquisa; "info" é enviado no fim de cada iteração.
+ */
+public class UciCommands {
+    private static final String NAME = "PA Chess";
+    private static final String AUTHOR = "DEIS/ISEC";
+    private static final int DEFAULT_HASH_MB = 64;
+    private static final int MAX_HASH_MB = 4096;
+    private static final int MAX_THREADS = 256;
+
+    private final BufferedReader in;
+    private final PrintStream out;
+
+    private ChessGame game = new ChessGame();
+    private int hashMb = DEFAULT_HASH_MB;
+    private int threads = 1;
+    private LazySmpSearch search = new LazySmpSearch(threads, new TranspositionTable(hashMb));
+    private Thread searchThread;
+    private CountDownLatch stopSignal; // "go infinite" só responde depois de "stop"
+
+    public UciCommands(BufferedReader in, PrintStream out) {
+        if (in == null || out == null)
+            throw new IllegalArgumentException("Invalid streams");
+        this.in = in;
+        this.out = out;
+    }
+
+    public void start() {
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!processCommand(line))
+                    break;
+            }
+        } catch (IOException e) {
+            send("info string " + e.getMessage());
+        } finally {
+            stopSearch();
+        }
+    }
+
+    /**
+     * Executa um comando UCI.
+     *
+     * @param line linha recebida
+     * @return false se o comando foi "quit"
+     */
+    public boolean processCommand(String line) {
+        String[] parts = line.trim().split("\\s+");
+        switch (parts[0]) {
+            case "uci" -> {
+                send("id name " + NAME);
+                send("id author " + AUTHOR);
+                send("option name Hash type spin default " + DEFAULT_HASH_MB + " min 1 max " + MAX_HASH_MB);
+                send("option name Threads type spin default 1 min 1 max " + MAX_THREADS);
+                send("option name Clear Hash type button");
+                send("uciok");
+            }
+            case "isready" -> send("readyok");
+            case "ucinewgame" -> {
+                stopSearch();
+                game = new ChessGame();
+                search.getTable().clear();
+            }
+            case "setoption" -> {
+                stopSearch();
+                handleSetOption(line);
+            }
+            case "position" -> {
+                stopSearch();
+                handlePosition(parts);
+            }
+            case "go" -> {
+                stopSearch();
+                handleGo(parts);
+            }
+            case "stop" -> stopSearch();
+            case "quit" -> {
+                stopSearch();
+                return false;
+            }
+            case "", "debug", "ponderhit", "register" -> { } // sem efeito neste motor
+            default -> send("info string Unknown command: " + parts[0]);
+        }
+        return true;
+    }
+
+    // setoption name <nome com espaços> [value <valor>]
+    private void handleSetOption(String line) {
+        String rest = line.trim().substring("setoption".length()).trim();
+        if (!rest.startsWith("name ")) {
+            send("info string Invalid setoption");
+            return;
+        }
+        rest = rest.substring("name ".length());
+        int valueAt = rest.indexOf(" value ");
+        String name = (valueAt < 0 ? rest : rest.substring(0, valueAt)).trim();
+        String value = valueAt < 0 ? "" : rest.substring(valueAt + " value ".length()).trim();
+
+        try {
+            switch (name.toLowerCase()) {
+                case "hash" -> {
+                    hashMb = parseInRange(value, 1, MAX_HASH_MB);
+                    search = new LazySmpSearch(threads, new TranspositionTable(hashMb));
+                }
+                case "threads" -> {
+                    threads = parseInRange(value, 1, MAX_THREADS);
+                    search = new LazySmpSearch(threads, search.getTable());
+                }
+                case "clear hash" -> search.getTable().clear();
+                default -> send("info string Unknown option: " + name);
+            }
+        } catch (IllegalArgumentException e) {
+            send("info string Invalid value for " + name + ": " + value);
+        }
+    }
+
+    // position [startpos | fen <6 campos>] [moves <jogadas>]
+    private void handlePosition(String[] parts) {
+        ChessGame position = new ChessGame();
+        int i = 1;
+        try {
+            if (parts.length > 1 && parts[1].equals("fen")) {
+                int end = 2;
+                while (end < parts.length && !parts[end].equals("moves"))
+                    end++;
+                position.importFen(String.join(" ", Arrays.copyOfRange(parts, 2, end)));
+                i = end;
+            } else if (parts.length > 1 && parts[1].equals("startpos")) {
+                i = 2;
+            } else {
+                send("info string Invalid position command");
+                return;
+            }
+        } catch (IllegalArgumentException e) {
+            send("info string Invalid FEN: " + e.getMessage());
+            return;
+        }
+
+        if (i < parts.length && parts[i].equals("moves")) {
+            for (i++; i < parts.length; i++) {
+                if (!playUciMove(position, parts[i])) {
+                    send("info string Illegal move: " + parts[i]);
+                    break;
+                }
+            }
+        }
+        game = position;
+    }
+
+    // Só joga jogadas legais (o ChessGame escreve mensagens no output quando uma jogada falha)
+    private static boolean playUciMove(ChessGame game, String uciMove) {
+        MoveList legal = new MoveList();
+        game.generateLegalMoves(legal);
+        for (int i = 0; i < legal.size(); i++) {
+            int move = legal.get(i);
+            if (Move.toString(move).equals(uciMove))
+                return game.playMove(move);
+        }
+        return false;
+    }
+
+    private void handleGo(String[] parts) {
+        int depth = SearchLimits.MAX_DEPTH;
+        long moveTime = 0, nodes = 0;
+        long whiteTime = 0, blackTime = 0, whiteIncrement = 0, blackIncrement = 0;
+        int movesToGo = 0;
+        boolean infinite = false;
+
+        try {
+            for (int i = 1; i < parts.length; i++) {
+                switch (parts[i]) {
+                    case "infinite" -> infinite = true;
+                    case "depth" -> depth = parseInRange(parts[++i], 1, SearchLimits.MAX_DEPTH);
+                    case "movetime" -> moveTime = Math.max(1, Long.parseLong(parts[++i]));
+                    case "nodes" -> nodes = Math.max(1, Long.parseLong(parts[++i]));
+                    case "movestogo" -> movesToGo = Integer.parseInt(parts[++i]);
+                    case "wtime" -> whiteTime = Long.parseLong(parts[++i]);
+                    case "btime" -> blackTime = Long.parseLong(parts[++i]);
+                    case "winc" -> whiteIncrement = Long.parseLong(parts[++i]);
+                    case "binc" -> blackIncrement = Long.parseLong(parts[++i]);
+                    default -> { } // ponder, searchmoves, mate: ignorados
+                }
+            }
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            send("info string Invalid go command");
+            return;
+        }
+
+        boolean white = game.getCurrentPlayer() == PieceColor.WHITE;
+        long time = white ? whiteTime : blackTime;
+        long increment = white ? whiteIncrement : blackIncrement;
+
+        SearchLimits limits;
+        if (!infinite && moveTime == 0 && nodes == 0 && depth == SearchLimits.MAX_DEPTH && time > 0) {
+            // Só o relógio: o tempo da jogada é gerido entre iterações
+            limits = SearchLimits.clock(new TimeManager(time, increment, Math.max(0, movesToGo)));
+        } else {
+            if (moveTime == 0 && time > 0)
+                moveTime = new TimeManager(time, increment, Math.max(0, movesToGo)).getHardLimit();
+            // Sem limites é o mesmo que "go infinite"
+            if (depth == SearchLimits.MAX_DEPTH && moveTime == 0 && nodes == 0)
+                infinite = true;
+            limits = new SearchLimits(depth, infinite ? 0 : moveTime, infinite ? 0 : nodes);
+        }
+        startSearch(limits, infinite);
+    }
+
+    private void startSearch(SearchLimits limits, boolean infinite) {
+        ChessGame position = game;
+        LazySmpSearch engine = search;
+        CountDownLatch signal = infinite ? new CountDownLatch(1) : null;
+        stopSignal = signal;
+
+        engine.setListener(this::sendInfo);
+        engine.clearStop(); // aqui e não na thread da pesquisa, para um "stop" imediato não se perder
+        searchThread = new Thread(() -> {
+            SearchResult result = engine.search(position, limits);
+            if (signal != null)
+                awaitUninterruptibly(signal);
+            int move = result == null ? Move.NONE : result.getBestMove();
+            send("bestmove " + Move.toString(move));
+        }, "uci-search");
+        searchThread.setDaemon(true);
+        searchThread.start();
+    }
+
+    // Pede à pesquisa em curso que termine e espera pelo "bestmove"
+    private void stopSearch() {
+        if (searchThread == null)
+            return;
+        search.stop();
+        if (stopSignal != null)
+            stopSignal.countDown();
+        waitForSearch();
+    }
+
+    // Espera que a pesquisa em curso termine (sem a interromper)
+    void waitForSearch() {
+        if (searchThread == null)
+            return;
+        boolean interrupted = false;
+        while (true) {
+            try {
+                searchThread.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+        searchThread = null;
+        stopSignal = null;
+    }
+
+    private void sendInfo(SearchResult result) {
+        StringBuilder sb = new StringBuilder("info depth ").append(result.getDepth());
+        if (result.isMate()) {
+            int plies = result.getMatePlies();
+            sb.append(" score mate ").append(plies > 0 ? (plies + 1) / 2 : -((-plies + 1) / 2));
+        } else {
+            sb.append(" score cp ").append(result.getScore());
+        }
+        long time = result.getTimeMillis();
+        sb.append(" nodes ").append(result.getNodes())
+                .append(" nps ").append(result.getNodes() * 1000 / Math.max(1, time))
+                .append(" time ").append(time)
+                .append(" hashfull ").append(search.getTable().hashfull())
+                .append(" pv");
+        for (int move : result.getPrincipalVariation())
+            sb.append(' ').append(Move.toString(move));
+        send(sb.toString());
+    }
+
+    private void send(String line) {
+        synchronized (out) {
+            out.println(line);
+            out.flush();
+        }
+    }
+
+    private static int parseInRange(String value, int min, int max) {
+        int n = Integer.parseInt(value);
+        if (n < min || n > max)
+            throw new IllegalArgumentException("Out of range: " + value);
+        return n;
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+    }
+}
@@ -0,0 +1,99 @@
+package pt.isec.pa.chess.model.data;
+
+import pt.isec.pa.chess.model.data.pieces.PieceColor;
+
+/**
+ * Tabelas de ataque pré-calculadas para as 64 casas (índices de {@link Position#getIndex()}).
+ * Cavalo, rei e peão usam uma máscara por casa; as peças deslizantes usam raios
+ * que são cortados na primeira peça encontrada.
+ */
+public final class AttackTables {
+
+    // Direções dos raios: {coluna, linha}. As 4 primeiras são ortogonais, as 4 últimas diagonais.
+    public static final int[][] DIRECTIONS = {
+            {1, 0}, {-1, 0}, {0, 1}, {0, -1},
+            {1, 1}, {-1, -1}, {1, -1}, {-1, 1}
+    };
+
+    private static final long[] KNIGHT = new long[64];
+    private static final long[] KING = new long[64];
+    private static final long[][] PAWN = new long[2][64];   // [cor do peão][casa do peão]
+    private static final long[][] RAYS = new long[8][64];   // [direção][casa de partida]
+
+    static {
+        int[][] knightOffsets = {{2, 1}, {2, -1}, {-2, 1}, {-2, -1}, {1, 2}, {1, -2}, {-1, 2}, {-1, -2}};
+
+        for (int sq = 0; sq < 64; sq++) {
+            int col = sq & 7;
+            int row = sq >>> 3;
+
+            for (int[] offset : knightOffsets)
+                KNIGHT[sq] |= bit(col + offset[0], row + offset[1]);
+
+            for (int d = 0; d < DIRECTIONS.length; d++) {
+                KING[sq] |= bit(col + DIRECTIONS[d][0], row + DIRECTIONS[d][1]);
+
+                int c = col + DIRECTIONS[d][0];
+                int r = row + DIRECTIONS[d][1];
+                while (c >= 0 && c < 8 && r >= 0 && r < 8) {
+                    RAYS[d][sq] |= 1L << (c + (r << 3));
+                    c += DIRECTIONS[d][0];
+                    r += DIRECTIONS[d][1];
+                }
+            }
+
+            PAWN[PieceColor.WHITE.ordinal()][sq] = bit(col - 1, row + 1) | bit(col + 1, row + 1);
+            PAWN[PieceColor.BLACK.ordinal()][sq] = bit(col - 1, row - 1) | bit(col + 1, row - 1);
+        }
+    }
+
+    private AttackTables() {} // Impede instância
+
+    private static long bit(int col, int row) {
+        if (col < 0 || col > 7 || row < 0 || row > 7)
+            return 0L;
+        return 1L << (col + (row << 3));
+    }
+
+    public static long knightAttacks(int square) {
+        return KNIGHT[square];
+    }
+
+    public static long kingAttacks(int square) {
+        return KING[square];
+    }
+
+    // Casas atacadas por um peão da cor indicada colocado na casa
+    public static long pawnAttacks(PieceColor color, int square) {
+        return PAWN[color.ordinal()][square];
+    }
+
+    public static long ray(int direction, int square) {
+        return RAYS[direction][square];
+    }
+
+    // Raio cortado na primeira peça ocupada (inclusive)
+    public static long rayAttacks(int direction, int square, long occupied) {
+        long ray = RAYS[direction][square];
+        long blockers = ray & occupied;
+        if (blockers == 0)
+            return ray;
+
+        // direções crescentes (coluna/linha positiva) bloqueiam no bit mais baixo, as restantes no mais alto
+        int step = DIRECTIONS[direction][0] + (DIRECTIONS[direction][1] << 3);
+        int blocker = step > 0
+                ? Long.numberOfTrailingZeros(blockers)
+                : 63 - Long.numberOfLeadingZeros(blockers);
+        return ray ^ RAYS[direction][blocker];
+    }
+
+    public static long rookAttacks(int square, long occupied) {
+        return rayAttacks(0, square, occupied) | rayAttacks(1, square, occupied)
+                | rayAttacks(2, square, occupied) | rayAttacks(3, square, occupied);
+    }
+
+    public static long bishopAttacks(int square, long occupied) {
+        return rayAttacks(4, square, occupied) | rayAttacks(5, square, occupied)
+                | rayAttacks(6, square, occupied) | rayAttacks(7, square, occupied);
+    }
+}
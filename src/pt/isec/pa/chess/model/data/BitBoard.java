@@ -0,0 +1,288 @@
+package pt.isec.pa.chess.model.data;
+
+import pt.isec.pa.chess.model.data.pieces.Piece;
+import pt.isec.pa.chess.model.data.pieces.PieceColor;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Tabuleiro representado por bitboards de 64 bits.
+ * Mantém um long por cor e tipo de peça, máscaras de ocupação por cor
+ * e um array de 64 casas para obter a peça de uma casa em tempo constante.
+ * O bit i corresponde à casa com {@link Position#getIndex()} igual a i.
+ */
+public class BitBoard extends Board {
+    private static final long serialVersionUID = 1L;
+
+    private static final int SIZE = 8;
+
+    private final Piece[] squares;
+    private final long[][] pieces;     // [cor][tipo]
+    private final long[] occupancy;    // [cor]
+
+    public BitBoard() {
+        this(true);
+    }
+
+    // Sem as peças iniciais: usado nas cópias, que são preenchidas logo a seguir
+    private BitBoard(boolean initialize) {
+        super(SIZE);
+        this.squares = new Piece[64];
+        this.pieces = new long[PieceColor.values().length][PieceType.values().length];
+        this.occupancy = new long[PieceColor.values().length];
+        if (initialize)
+            initializeBoard();
+    }
+
+    @Override
+    protected Board newEmptyBoard() {
+        return new BitBoard(false);
+    }
+
+    @Override
+    protected Piece pieceAt(Position pos) {
+        return squares[pos.getIndex()];
+    }
+
+    @Override
+    protected void putPiece(Position pos, Piece piece) {
+        int sq = pos.getIndex();
+        if (squares[sq] != null)
+            clearBits(squares[sq], sq);
+
+        squares[sq] = piece;
+        long bit = 1L << sq;
+        pieces[piece.getColor().ordinal()][piece.getPieceType().ordinal()] |= bit;
+        occupancy[piece.getColor().ordinal()] |= bit;
+    }
+
+    @Override
+    protected Piece takePiece(Position pos) {
+        int sq = pos.getIndex();
+        Piece piece = squares[sq];
+        if (piece != null) {
+            clearBits(piece, sq);
+            squares[sq] = null;
+        }
+        return piece;
+    }
+
+    private void clearBits(Piece piece, int sq) {
+        long mask = ~(1L << sq);
+        pieces[piece.getColor().ordinal()][piece.getPieceType().ordinal()] &= mask;
+        occupancy[piece.getColor().ordinal()] &= mask;
+    }
+
+    @Override
+    protected void clearPieces() {
+        Arrays.fill(squares, null);
+        for (long[] byType : pieces)
+            Arrays.fill(byType, 0L);
+        Arrays.fill(occupancy, 0L);
+    }
+
+    @Override
+    public Collection<Piece> getAllPieces() {
+        return collect(getOccupancy());
+    }
+
+    @Override
+    public Collection<Piece> getPiecesOfColor(PieceColor color) {
+        return collect(occupancy[color.ordinal()]);
+    }
+
+    private List<Piece> collect(long bits) {
+        List<Piece> list = new ArrayList<>(Long.bitCount(bits));
+        while (bits != 0) {
+            list.add(squares[Long.numberOfTrailingZeros(bits)]);
+            bits &= bits - 1; // remove o bit menos significativo
+        }
+        return list;
+    }
+
+    @Override
+    public Position findKingPosition(PieceColor color) {
+        long kings = pieces[color.ordinal()][PieceType.KING.ordinal()];
+        if (kings == 0)
+            return null;
+        return Position.of(Long.numberOfTrailingZeros(kings));
+    }
+
+    @Override
+    public boolean isPositionUnderAttack(Position pos, PieceColor attackingColor) {
+        int square = pos.getIndex();
+        long[] attacker = pieces[attackingColor.ordinal()];
+
+        if ((AttackTables.knightAttacks(square) & attacker[PieceType.KNIGHT.ordinal()]) != 0
+                || (AttackTables.kingAttacks(square) & attacker[PieceType.KING.ordinal()]) != 0
+                || (AttackTables.pawnAttacks(attackingColor.opposite(), square) & attacker[PieceType.PAWN.ordinal()]) != 0)
+            return true;
+
+        long queens = attacker[PieceType.QUEEN.ordinal()];
+        long orthogonal = attacker[PieceType.ROOK.ordinal()] | queens;
+        long diagonal = attacker[PieceType.BISHOP.ordinal()] | queens;
+        long occupied = getOccupancy();
+
+        return (orthogonal != 0 && (MagicBitboards.rookAttacks(square, occupied) & orthogonal) != 0)
+                || (diagonal != 0 && (MagicBitboards.bishopAttacks(square, occupied) & diagonal) != 0);
+    }
+
+    @Override
+    public void generateMoves(PieceColor color, MoveList moves) {
+        generate(color, moves, true);
+    }
+
+    @Override
+    public void generateCaptures(PieceColor color, MoveList moves) {
+        generate(color, moves, false);
+    }
+
+    // quiet == false: só capturas (incluindo en passant) e promoções
+    private void generate(PieceColor color, MoveList moves, boolean quiet) {
+        long[] own = pieces[color.ordinal()];
+        long ownPieces = occupancy[color.ordinal()];
+        long enemy = occupancy[color.opposite().ordinal()];
+        long occupied = ownPieces | enemy;
+        long targetMask = quiet ? ~ownPieces : enemy;
+
+        generatePawnMoves(color, own[PieceType.PAWN.ordinal()], enemy, occupied, quiet, moves);
+
+        for (long knights = own[PieceType.KNIGHT.ordinal()]; knights != 0; knights &= knights - 1) {
+            int from = Long.numberOfTrailingZeros(knights);
+            addMoves(from, AttackTables.knightAttacks(from) & targetMask, enemy, moves);
+        }
+        for (long bishops = own[PieceType.BISHOP.ordinal()]; bishops != 0; bishops &= bishops - 1) {
+            int from = Long.numberOfTrailingZeros(bishops);
+            addMoves(from, MagicBitboards.bishopAttacks(from, occupied) & targetMask, enemy, moves);
+        }
+        for (long rooks = own[PieceType.ROOK.ordinal()]; rooks != 0; rooks &= rooks - 1) {
+            int from = Long.numberOfTrailingZeros(rooks);
+            addMoves(from, MagicBitboards.rookAttacks(from, occupied) & targetMask, enemy, moves);
+        }
+        for (long queens = own[PieceType.QUEEN.ordinal()]; queens != 0; queens &= queens - 1) {
+            int from = Long.numberOfTrailingZeros(queens);
+            addMoves(from, MagicBitboards.queenAttacks(from, occupied) & targetMask, enemy, moves);
+        }
+        long kings = own[PieceType.KING.ordinal()];
+        if (kings != 0) {
+            int from = Long.numberOfTrailingZeros(kings);
+            addMoves(from, AttackTables.kingAttacks(from) & targetMask, enemy, moves);
+            if (quiet)
+                generateCastling(color, from, occupied, moves);
+        }
+    }
+
+    private static void addMoves(int from, long targets, long enemy, MoveList moves) {
+        for (; targets != 0; targets &= targets - 1) {
+            int to = Long.numberOfTrailingZeros(targets);
+            moves.add(Move.of(from, to, (enemy & (1L << to)) != 0 ? Move.CAPTURE : 0));
+        }
+    }
+
+    private void generatePawnMoves(PieceColor color, long pawns, long enemy, long occupied, boolean quiet, MoveList moves) {
+        boolean white = color == PieceColor.WHITE;
+        int forward = white ? 8 : -8;
+        int startRow = white ? 1 : 6;
+        int enPassantTarget = enPassantTarget(color);
+
+        for (; pawns != 0; pawns &= pawns - 1) {
+            int from = Long.numberOfTrailingZeros(pawns);
+            int to = from + forward;
+            if (to < 0 || to > 63) // peão na última linha à espera de promoção
+                continue;
+
+            boolean promotes = (to >>> 3) == 0 || (to >>> 3) == 7;
+            if ((occupied & (1L << to)) == 0 && (quiet || promotes)) {
+                addPawnMove(from, to, 0, moves);
+                int doubleTo = to + forward;
+                if (quiet && (from >>> 3) == startRow && (occupied & (1L << doubleTo)) == 0)
+                    moves.add(Move.of(from, doubleTo, Move.DOUBLE_PUSH));
+            }
+
+            long attacks = AttackTables.pawnAttacks(color, from);
+            for (long captures = attacks & enemy; captures != 0; captures &= captures - 1)
+                addPawnMove(from, Long.numberOfTrailingZeros(captures), Move.CAPTURE, moves);
+
+            if (enPassantTarget >= 0 && (attacks & (1L << enPassantTarget)) != 0)
+                moves.add(Move.of(from, enPassantTarget, Move.CAPTURE | Move.EN_PASSANT));
+        }
+    }
+
+    private static void addPawnMove(int from, int to, int flags, MoveList moves) {
+        int row = to >>> 3;
+        if (row == 0 || row == 7) {
+            for (PieceType type : PROMOTION_TYPES)
+                moves.add(Move.of(from, to, type, flags));
+        } else {
+            moves.add(Move.of(from, to, flags));
+        }
+    }
+
+    // Casa de captura en passant disponível para a cor, ou -1 (mesmas regras do Pawn.tryEnPassant)
+    private int enPassantTarget(PieceColor color) {
+        Piece last = getLastMovedPiece();
+        if (last == null || last.getPieceType() != PieceType.PAWN || last.getColor() == color)
+            return -1;
+        if (Math.abs(getLastMoveTo().getRow() - getLastMoveFrom().getRow()) != 2)
+            return -1;
+
+        int target = last.getPosition().getIndex() + (color == PieceColor.WHITE ? 8 : -8);
+        return squares[target] == null ? target : -1;
+    }
+
+    // Mesmas condições do King.canCastle: rei e torre por mover, caminho livre e casas não atacadas
+    private void generateCastling(PieceColor color, int kingSquare, long occupied, MoveList moves) {
+        Piece king = squares[kingSquare];
+        if (king.hasMoved() || (kingSquare & 7) != 4)
+            return;
+        PieceColor enemy = color.opposite();
+        int row = kingSquare & ~7;
+        boolean kingAttacked = false;
+        boolean checked = false;
+
+        if (isUnmovedRook(row + 7, color) && (occupied & (0x60L << row)) == 0) { // f e g livres
+            kingAttacked = isPositionUnderAttack(Position.of(kingSquare), enemy);
+            checked = true;
+            if (!kingAttacked
+                    && !isPositionUnderAttack(Position.of(row + 5), enemy)
+                    && !isPositionUnderAttack(Position.of(row + 6), enemy))
+                moves.add(Move.of(kingSquare, row + 6, Move.CASTLE));
+        }
+        if (isUnmovedRook(row, color) && (occupied & (0x0EL << row)) == 0) { // b, c e d livres
+            if (!checked)
+                kingAttacked = isPositionUnderAttack(Position.of(kingSquare), enemy);
+            if (!kingAttacked
+                    && !isPositionUnderAttack(Position.of(row + 2), enemy)
+                    && !isPositionUnderAttack(Position.of(row + 3), enemy))
+                moves.add(Move.of(kingSquare, row + 2, Move.CASTLE));
+        }
+    }
+
+    private boolean isUnmovedRook(int square, PieceColor color) {
+        Piece rook = squares[square];
+        return rook != null && rook.getPieceType() == PieceType.ROOK && rook.getColor() == color && !rook.hasMoved();
+    }
+
+    public Piece getPieceAt(int square) {
+        return squares[square];
+    }
+
+    @Override
+    public long getBitboard(PieceColor color, PieceType type) {
+        return pieces[color.ordinal()][type.ordinal()];
+    }
+
+    @Override
+    public long getOccupancy(PieceColor color) {
+        return occupancy[color.ordinal()];
+    }
+
+    @Override
+    public long getOccupancy() {
+        return occupancy[0] | occupancy[1];
+    }
+}
@@ -6,56 +6,132 @@ import java.io.Serializable;
 import java.util.*;
 
 
-public class Board implements Serializable {
-    private static final long serialVersionUID = 1L;
+/**
+ * Tabuleiro de xadrez com as regras comuns a todas as representações.
+ * O armazenamento das peças fica a cargo das subclasses:
+ * {@link BitBoard} (bitboards, usado pelo jogo) e {@link MapBoard} (mapa, implementação de referência).
+ */
+public abstract class Board implements Serializable {
+    private static final long serialVersionUID = 2L;
+
+    protected static final PieceType[] PROMOTION_TYPES = {
+            PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT
+    };
 
-    private final Map<Position, Piece> board;  // Mapa de peças  com respetivo ID
     private int boardSize;
     private Position lastMoveFrom;
     private Position lastMoveTo;
     private Piece lastMovedPiece;
+    private long placementKey; // Zobrist das peças, mantido pelas primitivas setPiece/unsetPiece
+    private long pawnKey;      // Zobrist só dos peões, para a tabela de estrutura de peões
+    private int midgameScore;  // tabelas peça-casa (com material), brancas - pretas, também incrementais
+    private int endgameScore;
+    private int phase;
 
-    public Board() {
-        this(8); //tamanho default - 8x8
-    }
-
-    public Board(int size) {
+    protected Board(int size) {
         if (size < 1)
             throw new IllegalArgumentException("[ERROR] Board size");
         this.boardSize = size;
-        this.board = new HashMap<>();
-        initializeBoard();
+    }
+
+    // Primitivas de armazenamento (a posição recebida é sempre válida)
+    protected abstract Piece pieceAt(Position pos);
+    protected abstract void putPiece(Position pos, Piece piece); // substitui a peça que lá estiver
+    protected abstract Piece takePiece(Position pos);
+    protected abstract void clearPieces();
+
+    // Todas as alterações às peças passam por aqui para manter a chave de Zobrist
+    // e a avaliação incrementais
+    private void setPiece(Position pos, Piece piece) {
+        int sq = pos.getIndex();
+        Piece old = pieceAt(pos);
+        if (old != null)
+            removeFromState(old, sq);
+        putPiece(pos, piece);
+        addToState(piece, sq);
+    }
+
+    private Piece unsetPiece(Position pos) {
+        Piece piece = takePiece(pos);
+        if (piece != null)
+            removeFromState(piece, pos.getIndex());
+        return piece;
+    }
+
+    private void addToState(Piece piece, int sq) {
+        placementKey ^= Zobrist.piece(piece, sq);
+        if (piece.getPieceType() == PieceType.PAWN)
+            pawnKey ^= Zobrist.piece(piece, sq);
+        midgameScore += PieceSquareTables.midgame(piece, sq);
+        endgameScore += PieceSquareTables.endgame(piece, sq);
+        phase += PieceSquareTables.phase(piece);
+    }
+
+    private void removeFromState(Piece piece, int sq) {
+        placementKey ^= Zobrist.piece(piece, sq);
+        if (piece.getPieceType() == PieceType.PAWN)
+            pawnKey ^= Zobrist.piece(piece, sq);
+        midgameScore -= PieceSquareTables.midgame(piece, sq);
+        endgameScore -= PieceSquareTables.endgame(piece, sq);
+        phase -= PieceSquareTables.phase(piece);
     }
 
     public Piece getPieceAt(Position pos) {
         if (pos == null || !pos.isValid())
             return null;
-        return board.get(pos);
+        return pieceAt(pos);
     }
 
     public Piece getPieceById(String id) {
-        for (Piece piece : board.values()) {
+        for (Piece piece : getAllPieces()) {
             if (piece.getId().equals(id))
                 return piece;
         }
         return null;
     }
 
-    public Collection<Piece> getAllPieces() {
-        return new ArrayList<>(board.values()); // Return a copy of the values in board
-    }
+    public abstract Collection<Piece> getAllPieces(); // cópia, pode ser alterada durante a iteração
+
+    public abstract Collection<Piece> getPiecesOfColor(PieceColor color);
+
+    // Máscaras de ocupação, bit i = casa com Position.getIndex() == i
+    public abstract long getOccupancy();
 
-    public Collection<Piece> getPiecesOfColor(PieceColor color) {
-        return board.values().stream()
-                .filter(piece -> piece.getColor() == color)
-                .toList();
+    public abstract long getOccupancy(PieceColor color);
+
+    public abstract long getBitboard(PieceColor color, PieceType type);
+
+    /**
+     * Cria uma cópia independente do tabuleiro (peças copiadas, mesmo último movimento),
+     * que pode ser alterada ou pesquisada noutra thread sem afetar o original.
+     *
+     * @return cópia do tabuleiro, da mesma implementação
+     */
+    public Board copy() {
+        Board copy = newEmptyBoard();
+        Piece lastMovedCopy = lastMovedPiece == null ? null : lastMovedPiece.copy();
+        for (Piece piece : getAllPieces()) {
+            Piece pieceCopy = piece == lastMovedPiece ? lastMovedCopy : piece.copy();
+            copy.setPiece(pieceCopy.getPosition(), pieceCopy);
+        }
+        copy.setLastMove(lastMoveFrom, lastMoveTo, lastMovedCopy);
+        return copy;
     }
 
+    // Tabuleiro vazio da mesma implementação, usado por copy()
+    protected abstract Board newEmptyBoard();
+
     public void clear() {
-        board.clear();
+        clearPieces();
+        placementKey = 0L;
+        pawnKey = 0L;
+        midgameScore = 0;
+        endgameScore = 0;
+        phase = 0;
     }
 
-    private void initializeBoard() {
+    // Chamado pelas subclasses no fim do construtor, depois de criado o armazenamento
+    protected void initializeBoard() {
         //Linha 8 - Peças Pretas
         placePiece(PieceFactory.createPiece("ra" + boardSize));
         placePiece(PieceFactory.createPiece("nb" + boardSize));
@@ -89,8 +165,8 @@ public class Board implements Serializable {
         for (int row = boardSize; row >= 1; row--) {
             System.out.print(row + "  ");
             for (char col = 'a'; col <= 'h'; col++) {
-                Position pos = new Position(col, row);
-                Piece piece = board.get(pos);
+                Position pos = Position.of(col, row);
+                Piece piece = pieceAt(pos);
                 System.out.print((piece == null ? " . " : piece.getId()) + " ");
             }
             System.out.println();
@@ -102,7 +178,7 @@ public class Board implements Serializable {
         if (piece == null || piece.getPosition() == null || !piece.getPosition().isValid())
             throw new IllegalArgumentException("Invalid piece or position");
 
-        board.put(piece.getPosition(), piece);
+        setPiece(piece.getPosition(), piece);
     }
 
     public void placePiece(Piece piece, Position pos) {
@@ -110,32 +186,203 @@ public class Board implements Serializable {
             throw new IllegalArgumentException("Invalid piece or position");
 
         piece.setPosition(pos);
-        board.put(pos, piece);
+        setPiece(pos, piece);
     }
 
     public void removePiece(Piece piece) {
         if (piece == null || piece.getPosition() == null || !piece.getPosition().isValid())
             throw new IllegalArgumentException("Invalid piece or position");
 
-        board.remove(piece.getPosition());
+        unsetPiece(piece.getPosition());
     }
 
     public Piece removePiece(Position pos) {
         if (pos == null || !pos.isValid())
             return null;
-        return board.remove(pos);
+        return unsetPiece(pos);
     }
 
     public void movePiece(Piece piece, Position newPos) {
         if (piece == null || newPos == null || !newPos.isValid())
             throw new IllegalArgumentException("Invalid piece or position");
 
-        board.remove(piece.getPosition());
+        unsetPiece(piece.getPosition());
         piece.setPosition(newPos);
-        board.put(newPos, piece);
+        setPiece(newPos, piece);
         piece.setHasMoved();
     }
 
+    // Codifica a jogada from -> to com as flags deduzidas do estado atual do tabuleiro
+    // (promoções são codificadas para rainha)
+    public int createMove(Position from, Position to) {
+        Piece piece = getPieceAt(from);
+        if (piece == null || to == null || !to.isValid())
+            throw new IllegalArgumentException("Invalid piece or position");
+
+        int fromSq = from.getIndex();
+        int toSq = to.getIndex();
+        Piece target = getPieceAt(to);
+        int colDiff = to.getCol() - from.getCol();
+
+        if (piece.getPieceType() == PieceType.KING) {
+            boolean ownRook = target != null && target.getColor() == piece.getColor() && target.getPieceType() == PieceType.ROOK;
+            if (Math.abs(colDiff) == 2 || ownRook) { // o roque também pode ser indicado com a casa da torre
+                int kingCol = colDiff > 0 ? 'g' : 'c';
+                return Move.of(fromSq, Position.of((char) kingCol, from.getRow()).getIndex(), Move.CASTLE);
+            }
+        }
+
+        int flags = target != null ? Move.CAPTURE : 0;
+        if (piece.getPieceType() == PieceType.PAWN) {
+            if (colDiff != 0 && target == null)
+                flags |= Move.CAPTURE | Move.EN_PASSANT;
+            if (Math.abs(to.getRow() - from.getRow()) == 2)
+                flags |= Move.DOUBLE_PUSH;
+            if (to.getRow() == 1 || to.getRow() == boardSize)
+                return Move.of(fromSq, toSq, PieceType.QUEEN, flags);
+        }
+        return Move.of(fromSq, toSq, flags);
+    }
+
+    // Gera as jogadas pseudo-legais (podem deixar o rei em xeque) da cor indicada.
+    // Implementação de referência a partir das peças; o BitBoard gera sem criar objetos.
+    public void generateMoves(PieceColor color, MoveList moves) {
+        for (Piece piece : getPiecesOfColor(color)) {
+            for (Position to : piece.getPossibleMoves(this)) {
+                int move = createMove(piece.getPosition(), to);
+                if (Move.isPromotion(move)) {
+                    for (PieceType type : PROMOTION_TYPES)
+                        moves.add(Move.withPromotion(move, type));
+                } else {
+                    moves.add(move);
+                }
+            }
+        }
+    }
+
+    // Só capturas (incluindo en passant) e promoções, pseudo-legais; usado pela pesquisa de quiescência
+    public void generateCaptures(PieceColor color, MoveList moves) {
+        MoveList all = new MoveList();
+        generateMoves(color, all);
+        for (int i = 0; i < all.size(); i++) {
+            int move = all.get(i);
+            if (Move.isCapture(move) || Move.isPromotion(move))
+                moves.add(move);
+        }
+    }
+
+    // Verifica se a jogada pseudo-legal não deixa o rei de quem joga em xeque
+    public boolean isLegal(int move, UndoInfo undo) {
+        PieceColor color = pieceAt(Position.of(Move.from(move))).getColor();
+        makeMove(move, undo);
+        Position kingPos = findKingPosition(color);
+        boolean legal = kingPos == null || !isPositionUnderAttack(kingPos, color.opposite());
+        unmakeMove(undo);
+        return legal;
+    }
+
+    public UndoInfo makeMove(int move) {
+        UndoInfo undo = new UndoInfo();
+        makeMove(move, undo);
+        return undo;
+    }
+
+    // Executa a jogada atualizando peças, hasMoved e o último movimento (en passant);
+    // tudo o que é alterado fica em undo para o unmakeMove
+    public void makeMove(int move, UndoInfo undo) {
+        Position from = Position.of(Move.from(move));
+        Position to = Position.of(Move.to(move));
+        Piece piece = pieceAt(from);
+        if (piece == null)
+            throw new IllegalArgumentException("No piece at " + from);
+
+        undo.move = move;
+        undo.moved = piece;
+        undo.movedHadMoved = piece.hasMoved();
+        undo.previousLastMoveFrom = lastMoveFrom;
+        undo.previousLastMoveTo = lastMoveTo;
+        undo.previousLastMovedPiece = lastMovedPiece;
+        undo.rook = null;
+        undo.promoted = null;
+
+        undo.capturedAt = Move.isEnPassant(move) ? Position.of(to.getCol(), from.getRow()) : to;
+        undo.captured = unsetPiece(undo.capturedAt);
+
+        unsetPiece(from);
+        piece.setPosition(to);
+        piece.setHasMoved();
+        Piece placed = piece;
+        PieceType promotion = Move.promotion(move);
+        if (promotion != null) {
+            placed = PieceFactory.createPiece(promotion, piece.getColor(), to.getCol(), to.getRow());
+            placed.setHasMoved();
+            undo.promoted = placed;
+        }
+        setPiece(to, placed);
+
+        if (Move.isCastle(move)) {
+            boolean isKingside = to.getCol() > from.getCol();
+            Position rookFrom = Position.of(isKingside ? 'h' : 'a', from.getRow());
+            Position rookTo = Position.of(isKingside ? 'f' : 'd', from.getRow());
+            Piece rook = unsetPiece(rookFrom);
+            if (rook != null) {
+                undo.rook = rook;
+                undo.rookHadMoved = rook.hasMoved();
+                rook.setPosition(rookTo);
+                rook.setHasMoved();
+                setPiece(rookTo, rook);
+            }
+        }
+
+        setLastMove(from, to, placed);
+    }
+
+    // Repõe exatamente o estado anterior ao makeMove correspondente
+    public void unmakeMove(UndoInfo undo) {
+        int move = undo.move;
+        Position from = Position.of(Move.from(move));
+        Position to = Position.of(Move.to(move));
+
+        if (undo.rook != null) {
+            Position rookFrom = Position.of(to.getCol() > from.getCol() ? 'h' : 'a', from.getRow());
+            unsetPiece(undo.rook.getPosition());
+            undo.rook.setPosition(rookFrom);
+            undo.rook.setHasMoved(undo.rookHadMoved);
+            setPiece(rookFrom, undo.rook);
+        }
+
+        unsetPiece(to);
+        undo.moved.setPosition(from);
+        undo.moved.setHasMoved(undo.movedHadMoved);
+        setPiece(from, undo.moved);
+
+        if (undo.captured != null) {
+            undo.captured.setPosition(undo.capturedAt);
+            setPiece(undo.capturedAt, undo.captured);
+        }
+
+        setLastMove(undo.previousLastMoveFrom, undo.previousLastMoveTo, undo.previousLastMovedPiece);
+    }
+
+    // Passa a vez sem mover peças (jogada nula da pesquisa): só se perde o direito de en passant
+    public void makeNullMove(UndoInfo undo) {
+        undo.move = Move.NONE;
+        undo.previousLastMoveFrom = lastMoveFrom;
+        undo.previousLastMoveTo = lastMoveTo;
+        undo.previousLastMovedPiece = lastMovedPiece;
+        setLastMove(null, null, null);
+    }
+
+    public void unmakeNullMove(UndoInfo undo) {
+        setLastMove(undo.previousLastMoveFrom, undo.previousLastMoveTo, undo.previousLastMovedPiece);
+    }
+
+    // Tem peças além de peões e rei (sem elas a jogada nula falha por zugzwang)
+    public boolean hasNonPawnMaterial(PieceColor color) {
+        return (getBitboard(color, PieceType.KNIGHT) | getBitboard(color, PieceType.BISHOP)
+                | getBitboard(color, PieceType.ROOK) | getBitboard(color, PieceType.QUEEN)) != 0;
+    }
+
     public boolean isEmpty(Position pos) {
         return getPieceAt(pos) == null;
     }
@@ -155,25 +402,72 @@ public class Board implements Serializable {
         return null;
     }
 
+    // Parte da casa alvo: procura atacantes nas tabelas de cavalo/rei/peão e ao longo dos 8 raios
     public boolean isPositionUnderAttack(Position pos, PieceColor attackingColor) {
-        for (Piece piece : getAllPieces()) {
-            if (piece.getColor() == attackingColor) {
-                if (piece instanceof King) {
-                    List<Position> basicMoves = ((King) piece).getBasicMoves(this);
-                    if (basicMoves.contains(pos)) {
-                        return true;
-                    }
-                } else {
-                    List<Position> moves = piece.getPossibleMoves(this);
-                    if (moves.contains(pos)) {
-                        return true;
+        int square = pos.getIndex();
+
+        if (hasAttacker(AttackTables.knightAttacks(square), attackingColor, PieceType.KNIGHT)
+                || hasAttacker(AttackTables.kingAttacks(square), attackingColor, PieceType.KING)
+                || hasAttacker(AttackTables.pawnAttacks(attackingColor.opposite(), square), attackingColor, PieceType.PAWN))
+            return true;
+
+        for (int d = 0; d < AttackTables.DIRECTIONS.length; d++) {
+            int col = pos.getCol() + AttackTables.DIRECTIONS[d][0];
+            int row = pos.getRow() + AttackTables.DIRECTIONS[d][1];
+
+            while (col >= 'a' && col <= 'h' && row >= 1 && row <= 8) {
+                Piece piece = pieceAt(Position.of((char) col, row));
+                if (piece != null) {
+                    if (piece.getColor() == attackingColor) {
+                        PieceType type = piece.getPieceType();
+                        boolean orthogonal = d < 4;
+                        if (type == PieceType.QUEEN
+                                || (orthogonal && type == PieceType.ROOK)
+                                || (!orthogonal && type == PieceType.BISHOP))
+                            return true;
                     }
+                    break;
                 }
+                col += AttackTables.DIRECTIONS[d][0];
+                row += AttackTables.DIRECTIONS[d][1];
             }
         }
         return false;
     }
 
+    /**
+     * Peças de ambas as cores que atacam a casa, considerando ocupadas apenas as casas de occupied.
+     * Com uma ocupação reduzida revela os ataques em raio-X (usado na avaliação de trocas).
+     *
+     * @param square índice da casa
+     * @param occupied máscara de ocupação a considerar
+     * @return máscara com as casas dos atacantes
+     */
+    public long getAttackersTo(int square, long occupied) {
+        long queens = getBitboard(PieceColor.WHITE, PieceType.QUEEN) | getBitboard(PieceColor.BLACK, PieceType.QUEEN);
+        long orthogonal = getBitboard(PieceColor.WHITE, PieceType.ROOK) | getBitboard(PieceColor.BLACK, PieceType.ROOK) | queens;
+        long diagonal = getBitboard(PieceColor.WHITE, PieceType.BISHOP) | getBitboard(PieceColor.BLACK, PieceType.BISHOP) | queens;
+
+        return (AttackTables.pawnAttacks(PieceColor.BLACK, square) & getBitboard(PieceColor.WHITE, PieceType.PAWN))
+                | (AttackTables.pawnAttacks(PieceColor.WHITE, square) & getBitboard(PieceColor.BLACK, PieceType.PAWN))
+                | (AttackTables.knightAttacks(square)
+                        & (getBitboard(PieceColor.WHITE, PieceType.KNIGHT) | getBitboard(PieceColor.BLACK, PieceType.KNIGHT)))
+                | (AttackTables.kingAttacks(square)
+                        & (getBitboard(PieceColor.WHITE, PieceType.KING) | getBitboard(PieceColor.BLACK, PieceType.KING)))
+                | (MagicBitboards.rookAttacks(square, occupied) & orthogonal)
+                | (MagicBitboards.bishopAttacks(square, occupied) & diagonal);
+    }
+
+    private boolean hasAttacker(long squares, PieceColor color, PieceType type) {
+        while (squares != 0) {
+            Piece piece = pieceAt(Position.of(Long.numberOfTrailingZeros(squares)));
+            if (piece != null && piece.getColor() == color && piece.getPieceType() == type)
+                return true;
+            squares &= squares - 1;
+        }
+        return false;
+    }
+
     public boolean isClearPath(Position from, Position to) {
         if (from.getRow() != to.getRow()) return false;
 
@@ -181,7 +475,7 @@ public class Board implements Serializable {
         int endCol = Math.max(from.getCol(), to.getCol());
 
         for (int col = startCol; col < endCol; col++) {
-            Position pos = new Position((char) col, from.getRow());
+            Position pos = Position.of((char) col, from.getRow());
             if (getPieceAt(pos) != null)
                 return false;
         }
@@ -209,4 +503,74 @@ public class Board implements Serializable {
     public Piece getLastMovedPiece() {
         return lastMovedPiece;
     }
+
+    /**
+     * Chave de Zobrist da posição: peças, direitos de roque, coluna de en passant e jogador a jogar.
+     * A parte das peças é atualizada em cada alteração ao tabuleiro; roque e en passant
+     * são deduzidos em tempo constante do hasMoved e do último movimento.
+     *
+     * @param sideToMove cor do jogador a jogar
+     * @return chave de 64 bits
+     */
+    public long getZobristKey(PieceColor sideToMove) {
+        return placementKey ^ getStateKey() ^ Zobrist.side(sideToMove);
+    }
+
+    /**
+     * Avaliação material e posicional pelas tabelas peça-casa, interpolada entre meio-jogo e final.
+     * É mantida a cada alteração ao tabuleiro, por isso custa apenas algumas somas.
+     *
+     * @return pontuação em centipeões, positiva a favor das brancas
+     */
+    public int getPieceSquareScore() {
+        return PieceSquareTables.taper(midgameScore, endgameScore, phase);
+    }
+
+    // 24 com todas as peças, 0 só com reis e peões
+    public int getPhase() {
+        return phase;
+    }
+
+    // Chave de Zobrist apenas dos peões (0 sem peões); muda muito menos que a da posição
+    public long getPawnKey() {
+        return pawnKey;
+    }
+
+    // Parte da chave correspondente aos direitos de roque e ao en passant
+    long getStateKey() {
+        long key = 0L;
+        for (PieceColor color : PieceColor.values()) {
+            int row = color == PieceColor.WHITE ? 1 : boardSize;
+            Piece king = pieceAt(Position.of('e', row));
+            if (king == null || king.hasMoved() || king.getColor() != color || king.getPieceType() != PieceType.KING)
+                continue;
+            int base = color == PieceColor.WHITE ? 0 : 2;
+            if (isUnmovedRook(Position.of('h', row), color))
+                key ^= Zobrist.castling(base);
+            if (isUnmovedRook(Position.of('a', row), color))
+                key ^= Zobrist.castling(base + 1);
+        }
+
+        // Só conta se houver um peão adversário ao lado para capturar (a posição é diferente só nesse caso)
+        Piece last = lastMovedPiece;
+        if (last != null && last.getPieceType() == PieceType.PAWN
+                && Math.abs(lastMoveTo.getRow() - lastMoveFrom.getRow()) == 2
+                && pieceAt(lastMoveTo) == last) {
+            int to = lastMoveTo.getIndex();
+            long adjacent = AttackTables.kingAttacks(to) & (0xFFL << (to & ~7)); // mesma linha
+            for (long bits = adjacent; bits != 0; bits &= bits - 1) {
+                Piece piece = pieceAt(Position.of(Long.numberOfTrailingZeros(bits)));
+                if (piece != null && piece.getPieceType() == PieceType.PAWN && piece.getColor() != last.getColor()) {
+                    key ^= Zobrist.enPassant(lastMoveTo.getCol() - 'a');
+                    break;
+                }
+            }
+        }
+        return key;
+    }
+
+    private boolean isUnmovedRook(Position pos, PieceColor color) {
+        Piece rook = pieceAt(pos);
+        return rook != null && !rook.hasMoved() && rook.getColor() == color && rook.getPieceType() == PieceType.ROOK;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,205 @@
+package pt.isec.pa.chess.model.data;
+
+import pt.isec.pa.chess.model.data.pieces.Piece;
+import pt.isec.pa.chess.model.data.pieces.PieceColor;
+import pt.isec.pa.chess.model.data.pieces.PieceFactory;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Fotografia imutável de uma posição: uma máscara de 64 bits por tipo de peça e cor,
+ * jogador a jogar, direitos de roque e casa de en passant.
+ * Tirar uma fotografia copia 12 longs; {@link #play(int)} cria a posição seguinte sem
+ * tocar na atual, partilhando as máscaras da cor que não mudou (a do adversário, se não
+ * houver captura). Como nunca mudam, as fotografias podem ser partilhadas entre variantes
+ * e threads sem cópias.
+ */
+public final class BoardSnapshot implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final int WHITE_KINGSIDE = 1;
+    public static final int WHITE_QUEENSIDE = 2;
+    public static final int BLACK_KINGSIDE = 4;
+    public static final int BLACK_QUEENSIDE = 8;
+
+    private static final PieceType[] TYPES = PieceType.values();
+    private static final int[] RIGHTS_KEPT = new int[64]; // direitos que sobrevivem a mexer/capturar em cada casa
+
+    static {
+        Arrays.fill(RIGHTS_KEPT, 0xF);
+        RIGHTS_KEPT[4] &= ~(WHITE_KINGSIDE | WHITE_QUEENSIDE);  // e1
+        RIGHTS_KEPT[7] &= ~WHITE_KINGSIDE;                      // h1
+        RIGHTS_KEPT[0] &= ~WHITE_QUEENSIDE;                     // a1
+        RIGHTS_KEPT[60] &= ~(BLACK_KINGSIDE | BLACK_QUEENSIDE); // e8
+        RIGHTS_KEPT[63] &= ~BLACK_KINGSIDE;                     // h8
+        RIGHTS_KEPT[56] &= ~BLACK_QUEENSIDE;                    // a8
+    }
+
+    private final long[] white; // por ordinal de PieceType; partilhados, nunca alterados
+    private final long[] black;
+    private final PieceColor sideToMove;
+    private final int castlingRights;
+    private final int enPassant; // casa saltada pelo último avanço duplo, ou -1
+
+    private BoardSnapshot(long[] white, long[] black, PieceColor sideToMove, int castlingRights, int enPassant) {
+        this.white = white;
+        this.black = black;
+        this.sideToMove = sideToMove;
+        this.castlingRights = castlingRights;
+        this.enPassant = enPassant;
+    }
+
+    /**
+     * Fotografa a posição atual do tabuleiro.
+     *
+     * @param board tabuleiro
+     * @param sideToMove cor do jogador a jogar
+     * @return fotografia independente do tabuleiro
+     */
+    public static BoardSnapshot of(Board board, PieceColor sideToMove) {
+        if (board == null || sideToMove == null)
+            throw new IllegalArgumentException("Invalid board or color");
+        long[] white = new long[TYPES.length];
+        long[] black = new long[TYPES.length];
+        for (PieceType type : TYPES) {
+            white[type.ordinal()] = board.getBitboard(PieceColor.WHITE, type);
+            black[type.ordinal()] = board.getBitboard(PieceColor.BLACK, type);
+        }
+        int rights = (Fen.canCastle(board, PieceColor.WHITE, 'h') ? WHITE_KINGSIDE : 0)
+                | (Fen.canCastle(board, PieceColor.WHITE, 'a') ? WHITE_QUEENSIDE : 0)
+                | (Fen.canCastle(board, PieceColor.BLACK, 'h') ? BLACK_KINGSIDE : 0)
+                | (Fen.canCastle(board, PieceColor.BLACK, 'a') ? BLACK_QUEENSIDE : 0);
+        Position ep = Fen.enPassantSquare(board);
+        return new BoardSnapshot(white, black, sideToMove, rights, ep == null ? -1 : ep.getIndex());
+    }
+
+    // Fotografia a partir das máscaras (ex: lidas de um ficheiro); os arrays passam a ser da fotografia
+    static BoardSnapshot of(long[] white, long[] black, PieceColor sideToMove, int castlingRights, int enPassant) {
+        if (white.length != TYPES.length || black.length != TYPES.length || sideToMove == null
+                || (castlingRights & ~0xF) != 0 || enPassant < -1 || enPassant > 63)
+            throw new IllegalArgumentException("Invalid snapshot");
+        return new BoardSnapshot(white, black, sideToMove, castlingRights, enPassant);
+    }
+
+    /**
+     * Posição depois de uma jogada (que se assume legal, ex: gerada pelo tabuleiro).
+     * A fotografia atual não muda.
+     *
+     * @param move jogada codificada em {@link Move}
+     * @return nova fotografia
+     */
+    public BoardSnapshot play(int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        boolean whiteMoves = sideToMove == PieceColor.WHITE;
+        long[] own = (whiteMoves ? white : black).clone();
+        long[] enemy = whiteMoves ? black : white;
+
+        int moving = typeAt(own, from);
+        if (moving < 0)
+            throw new IllegalArgumentException("No piece to move at " + Position.of(from));
+        PieceType type = TYPES[moving];
+
+        // Captura (no en passant o peão capturado está ao lado, não na casa de destino)
+        int capturedAt = type == PieceType.PAWN && to == enPassant ? (from & ~7) | (to & 7) : to;
+        if (typeAt(enemy, capturedAt) >= 0) {
+            enemy = enemy.clone();
+            for (int i = 0; i < enemy.length; i++)
+                enemy[i] &= ~(1L << capturedAt);
+        }
+
+        own[moving] &= ~(1L << from);
+        PieceType promotion = Move.promotion(move);
+        own[promotion != null ? promotion.ordinal() : moving] |= 1L << to;
+
+        if (type == PieceType.KING && Math.abs((to & 7) - (from & 7)) == 2) {
+            boolean kingside = to > from;
+            int rookFrom = kingside ? from + 3 : from - 4;
+            int rookTo = kingside ? from + 1 : from - 1;
+            own[PieceType.ROOK.ordinal()] &= ~(1L << rookFrom);
+            own[PieceType.ROOK.ordinal()] |= 1L << rookTo;
+        }
+
+        int rights = castlingRights & RIGHTS_KEPT[from] & RIGHTS_KEPT[to];
+        int ep = type == PieceType.PAWN && Math.abs(to - from) == 16 ? (from + to) / 2 : -1;
+        return whiteMoves
+                ? new BoardSnapshot(own, enemy, PieceColor.BLACK, rights, ep)
+                : new BoardSnapshot(enemy, own, PieceColor.WHITE, rights, ep);
+    }
+
+    /**
+     * Coloca esta posição num tabuleiro (limpo antes), com o estado que o modelo usa
+     * para o roque e o en passant.
+     *
+     * @param board tabuleiro a preencher
+     */
+    public void restore(Board board) {
+        board.clear();
+        board.setLastMove(null, null, null);
+        for (PieceColor color : PieceColor.values()) {
+            long[] masks = color == PieceColor.WHITE ? white : black;
+            for (PieceType type : TYPES) {
+                for (long bits = masks[type.ordinal()]; bits != 0; bits &= bits - 1) {
+                    Position pos = Position.of(Long.numberOfTrailingZeros(bits));
+                    Piece piece = PieceFactory.createPiece(type, color, pos.getCol(), pos.getRow());
+                    if (!Fen.isHomeSquare(piece))
+                        piece.setHasMoved();
+                    board.placePiece(piece);
+                }
+            }
+        }
+        Fen.applyCastlingRights(board, castlingString());
+        if (enPassant >= 0)
+            Fen.applyEnPassant(board, Position.of(enPassant), sideToMove);
+    }
+
+    public PieceColor getSideToMove() {
+        return sideToMove;
+    }
+
+    public long getBitboard(PieceColor color, PieceType type) {
+        return (color == PieceColor.WHITE ? white : black)[type.ordinal()];
+    }
+
+    public int getCastlingRights() {
+        return castlingRights;
+    }
+
+    // Casa de en passant, ou null
+    public Position getEnPassantSquare() {
+        return enPassant < 0 ? null : Position.of(enPassant);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof BoardSnapshot other))
+            return false;
+        return sideToMove == other.sideToMove && castlingRights == other.castlingRights && enPassant == other.enPassant
+                && Arrays.equals(white, other.white) && Arrays.equals(black, other.black);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 31 * Arrays.hashCode(white) + Arrays.hashCode(black);
+        return 31 * (31 * (31 * h + sideToMove.ordinal()) + castlingRights) + enPassant;
+    }
+
+    private static int typeAt(long[] masks, int square) {
+        for (int i = 0; i < masks.length; i++)
+            if ((masks[i] & (1L << square)) != 0)
+                return i;
+        return -1;
+    }
+
+    private String castlingString() {
+        String rights = ((castlingRights & WHITE_KINGSIDE) != 0 ? "K" : "")
+                + ((castlingRights & WHITE_QUEENSIDE) != 0 ? "Q" : "")
+                + ((castlingRights & BLACK_KINGSIDE) != 0 ? "k" : "")
+                + ((castlingRights & BLACK_QUEENSIDE) != 0 ? "q" : "");
+        return rights.isEmpty() ? "-" : rights;
+    }
+}
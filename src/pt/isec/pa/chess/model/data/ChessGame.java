@@ -4,7 +4,9 @@ import pt.isec.pa.chess.model.data.pieces.*;
 
 import java.io.*;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Classe principal que representa um jogo de xadrez.
@@ -19,12 +21,14 @@ public class ChessGame implements Serializable {
     private PieceColor winner;
     private String whitePlayerName;
     private String blackPlayerName;
+    private transient UndoInfo scratchUndo; // reutilizado na filtragem de jogadas legais
+    private transient MoveDelta lastDelta;  // última jogada feita com play, para o histórico
 
     /**
      * Construtor padrão que inicializa um novo jogo com jogadores padrão.
      */
     public ChessGame() {
-        this.board = new Board();
+        this.board = new BitBoard();
         this.currentPlayer = PieceColor.WHITE;
         this.gameOver = false;
         this.winner = null;
@@ -39,7 +43,7 @@ public class ChessGame implements Serializable {
      * @param blackPlayer nome do jogador das peças pretas
      */
     public ChessGame(String whitePlayer, String blackPlayer) {
-        this.board = new Board();
+        this.board = new BitBoard();
         this.currentPlayer = PieceColor.WHITE;
         this.gameOver = false;
         this.winner = null;
@@ -47,13 +51,30 @@ public class ChessGame implements Serializable {
         this.blackPlayerName = blackPlayer;
     }
 
+    /**
+     * Construtor que inicializa um novo jogo sobre uma implementação de tabuleiro específica
+     * (ex: {@link MapBoard} como referência em testes diferenciais).
+     *
+     * @param board tabuleiro já inicializado com as peças
+     */
+    public ChessGame(Board board) {
+        if (board == null)
+            throw new IllegalArgumentException("Invalid board");
+        this.board = board;
+        this.currentPlayer = PieceColor.WHITE;
+        this.gameOver = false;
+        this.winner = null;
+        this.whitePlayerName = "Player 1";
+        this.blackPlayerName = "Player 2";
+    }
+
     /**
      * Construtor que inicializa um jogo a partir de dados exportados.
      *
      * @param data dados do jogo em formato string
      */
     public ChessGame(String data) {
-        this.board = new Board();
+        this.board = new BitBoard();
         this.currentPlayer = PieceColor.WHITE;
         this.gameOver = false;
         this.winner = null;
@@ -73,7 +94,7 @@ public class ChessGame implements Serializable {
      * @param data dados do jogo em formato string
      */
     public ChessGame(String whitePlayer, String blackPlayer, String data) {
-        this.board = new Board();
+        this.board = new BitBoard();
         this.currentPlayer = PieceColor.WHITE;
         this.gameOver = false;
         this.winner = null;
@@ -195,6 +216,99 @@ public class ChessGame implements Serializable {
         return List.copyOf(moveStrings);
     }
 
+    /**
+     * Gera todas as jogadas legais do jogador atual, codificadas em int (ver {@link Move}).
+     * Alternativa ao {@link #getPossibleMoves(String)} que não cria objetos por jogada.
+     *
+     * @param moves lista a preencher (é limpa antes)
+     * @return número de jogadas legais
+     */
+    public int generateLegalMoves(MoveList moves) {
+        moves.clear();
+        board.generateMoves(currentPlayer, moves);
+
+        if (scratchUndo == null)
+            scratchUndo = new UndoInfo();
+        for (int i = moves.size() - 1; i >= 0; i--) {
+            if (!board.isLegal(moves.get(i), scratchUndo))
+                moves.removeAt(i);
+        }
+        return moves.size();
+    }
+
+    /**
+     * Conta as folhas da árvore de jogadas legais até à profundidade indicada (perft).
+     * Serve para validar o gerador de jogadas contra valores conhecidos e para medir o seu desempenho.
+     *
+     * @param depth profundidade em meias-jogadas
+     * @return número de posições folha
+     */
+    public long perft(int depth) {
+        if (depth < 0)
+            throw new IllegalArgumentException("Profundidade inválida: " + depth);
+        if (depth == 0)
+            return 1;
+        return perft(currentPlayer, depth, 0, newMoveLists(depth), newUndoInfos(depth));
+    }
+
+    /**
+     * Perft separado por jogada inicial, útil para localizar diferenças face a outro gerador.
+     *
+     * @param depth profundidade em meias-jogadas (mínimo 1)
+     * @return mapa jogada (ex: "e2e4") -> número de folhas abaixo dela, na ordem de geração
+     */
+    public Map<String, Long> divide(int depth) {
+        if (depth < 1)
+            throw new IllegalArgumentException("Profundidade inválida: " + depth);
+
+        MoveList[] lists = newMoveLists(depth);
+        UndoInfo[] undos = newUndoInfos(depth);
+        Map<String, Long> result = new LinkedHashMap<>();
+
+        MoveList moves = lists[0];
+        moves.clear();
+        board.generateMoves(currentPlayer, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            board.makeMove(move, undos[0]);
+            if (!isKingInCheck(currentPlayer)) {
+                long nodes = depth == 1 ? 1 : perft(currentPlayer.opposite(), depth - 1, 1, lists, undos);
+                result.put(Move.toString(move), nodes);
+            }
+            board.unmakeMove(undos[0]);
+        }
+        return result;
+    }
+
+    private long perft(PieceColor color, int depth, int ply, MoveList[] lists, UndoInfo[] undos) {
+        MoveList moves = lists[ply];
+        moves.clear();
+        board.generateMoves(color, moves);
+
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i), undos[ply]);
+            if (!isKingInCheck(color))
+                nodes += depth == 1 ? 1 : perft(color.opposite(), depth - 1, ply + 1, lists, undos);
+            board.unmakeMove(undos[ply]);
+        }
+        return nodes;
+    }
+
+    private static MoveList[] newMoveLists(int depth) {
+        MoveList[] lists = new MoveList[depth];
+        for (int i = 0; i < depth; i++)
+            lists[i] = new MoveList();
+        return lists;
+    }
+
+    private static UndoInfo[] newUndoInfos(int depth) {
+        UndoInfo[] undos = new UndoInfo[depth];
+        for (int i = 0; i < depth; i++)
+            undos[i] = new UndoInfo();
+        return undos;
+    }
+
     /**
      * Executa um movimento no jogo.
      *
@@ -227,6 +341,23 @@ public class ChessGame implements Serializable {
         return handleMoveResult(result, piece, from, to);
     }
 
+    /**
+     * Executa uma jogada codificada em {@link Move} (origem, destino e promoção) como se fosse
+     * feita na interface: {@link #play(String, String)} seguido de {@link #promotePawnAt}.
+     *
+     * @param move jogada codificada
+     * @return true se a jogada foi executada
+     */
+    public boolean playMove(int move) {
+        String to = Position.of(Move.to(move)).toString();
+        if (!play(Position.of(Move.from(move)).toString(), to))
+            return false;
+        PieceType promotion = Move.promotion(move);
+        if (promotion != null)
+            promotePawnAt(to, promotion.name());
+        return true;
+    }
+
     /**
      * Processa o resultado de um movimento e atualiza o estado do jogo.
      *
@@ -238,38 +369,8 @@ public class ChessGame implements Serializable {
      */
     private boolean handleMoveResult(MoveResult result, Piece piece, Position from, Position to) {
         switch (result) {
-            case SUCCESS -> {
-                Piece capturedPiece = board.getPieceAt(to);
-                if (capturedPiece != null)
-                    board.removePiece(capturedPiece);
-
-                board.movePiece(piece, to);
-                board.setLastMove(from, to, piece);
-                currentPlayer = currentPlayer.opposite();
-
-                if (checkGameOver() != End_Type.CONTINUE) {
-                    this.gameOver = true;
-                }
-                return true;
-            }
-            case CASTLE -> {
-                King king = (King) piece;
-                king.executeCastle(to, board);
-                board.setLastMove(from, to, piece);
-                currentPlayer = currentPlayer.opposite();
-                if (checkGameOver() != End_Type.CONTINUE) {
-                    this.gameOver = true;
-                }
-                return true;
-            }
-            case EN_PASSANT -> {
-                Pawn pawn = (Pawn) piece;
-                pawn.executeEnPassant(to, board);
-                board.setLastMove(from, to, piece);
-                currentPlayer = currentPlayer.opposite();
-                if (checkGameOver() != End_Type.CONTINUE) {
-                    this.gameOver = true;
-                }
+            case SUCCESS, CASTLE, EN_PASSANT -> {
+                executeMove(from, to);
                 return true;
             }
             case NOT_YOUR_TURN -> System.out.println("Não é a sua vez. Jogador atual: " + getCurrentPlayerName());
@@ -282,6 +383,80 @@ public class ChessGame implements Serializable {
         return false;
     }
 
+    /**
+     * Executa uma jogada já validada através do tabuleiro, guardando a diferença em {@link #lastDelta}.
+     * A promoção não é feita aqui: o peão fica na última linha até {@link #promotePawnAt}.
+     *
+     * @param from posição de origem
+     * @param to posição de destino
+     */
+    private void executeMove(Position from, Position to) {
+        int move = board.createMove(from, to);
+        if (Move.isPromotion(move))
+            move = Move.of(Move.from(move), Move.to(move), Move.flags(move));
+
+        MoveDelta delta = new MoveDelta();
+        delta.playerBefore = currentPlayer;
+        delta.gameOverBefore = gameOver;
+        delta.winnerBefore = winner;
+        board.makeMove(move, delta.undo);
+
+        currentPlayer = currentPlayer.opposite();
+        if (checkGameOver() != End_Type.CONTINUE) {
+            this.gameOver = true;
+        }
+        delta.gameOverAfter = gameOver;
+        delta.winnerAfter = winner;
+        lastDelta = delta;
+    }
+
+    /**
+     * Obtém a diferença introduzida pela última jogada (incluindo a promoção, se já foi feita).
+     *
+     * @return diferença da última jogada, ou null se não houver jogada a registar
+     */
+    public MoveDelta getLastDelta() {
+        return lastDelta;
+    }
+
+    /**
+     * Desfaz uma jogada registada, que tem de ser a última feita sobre o estado atual.
+     *
+     * @param delta diferença da jogada a desfazer
+     */
+    public void undoMove(MoveDelta delta) {
+        if (delta == null)
+            throw new IllegalArgumentException("Invalid move delta");
+        if (delta.promoted != null) {
+            board.removePiece(delta.promoted);
+            board.placePiece(delta.pawn, delta.promoted.getPosition());
+        }
+        board.unmakeMove(delta.undo);
+        currentPlayer = delta.playerBefore;
+        gameOver = delta.gameOverBefore;
+        winner = delta.winnerBefore;
+        lastDelta = null;
+    }
+
+    /**
+     * Volta a fazer uma jogada desfeita com {@link #undoMove}, reutilizando as mesmas peças.
+     *
+     * @param delta diferença da jogada a refazer
+     */
+    public void redoMove(MoveDelta delta) {
+        if (delta == null || delta.playerBefore != currentPlayer)
+            throw new IllegalArgumentException("Invalid move delta");
+        board.makeMove(delta.undo.move, delta.undo);
+        if (delta.promoted != null) {
+            board.removePiece(delta.pawn);
+            board.placePiece(delta.promoted, delta.pawn.getPosition());
+        }
+        currentPlayer = delta.playerBefore.opposite();
+        gameOver = delta.gameOverAfter;
+        winner = delta.winnerAfter;
+        lastDelta = delta;
+    }
+
     /**
      * Tenta executar um movimento regular (não especial).
      *
@@ -369,23 +544,10 @@ public class ChessGame implements Serializable {
      * @return true se o movimento é legal
      */
     public boolean isLegalMove(Piece piece, Position from, Position to) {
-        Piece captured = board.getPieceAt(to);
-        // Simula jogada
-        board.removePiece(piece);
-        Piece tempCaptured = null;
-        if (captured != null) {
-            tempCaptured = captured;
-            board.removePiece(captured);
-        }
-        board.placePiece(piece, to);
-
+        // Simula jogada (inclui roque, en passant e hasMoved) e desfaz
+        UndoInfo undo = board.makeMove(board.createMove(from, to));
         boolean isCheck = isKingInCheck(piece.getColor());
-
-        // Desfaz jogada
-        board.removePiece(piece);
-        if (tempCaptured != null)
-            board.placePiece(tempCaptured, to);
-        board.placePiece(piece, from);
+        board.unmakeMove(undo);
 
         return !isCheck;
     }
@@ -403,6 +565,11 @@ public class ChessGame implements Serializable {
         if (piece instanceof Pawn) {
             Pawn pawn = (Pawn) piece;
             pawn.promote(promotionType, board);
+            // A promoção faz parte da última jogada (o peão acabou de chegar à última linha)
+            if (lastDelta != null && lastDelta.undo.moved == pawn && lastDelta.promoted == null) {
+                lastDelta.pawn = pawn;
+                lastDelta.promoted = board.getPieceAt(position);
+            }
         }
     }
 
@@ -481,6 +648,7 @@ public class ChessGame implements Serializable {
         try {
             this.currentPlayer = PieceColor.valueOf(parts[0].trim().toUpperCase());
             board.clear();
+            lastDelta = null;
 
             for (int i = 1; i < parts.length; i++) {
                 String pieceStr = parts[i].trim();
@@ -499,6 +667,71 @@ public class ChessGame implements Serializable {
     }
 
 
+    /**
+     * Carrega uma posição em notação FEN.
+     *
+     * @param fen posição em notação FEN
+     */
+    public void importFen(String fen) throws IllegalArgumentException {
+        this.currentPlayer = Fen.load(board, fen);
+        this.gameOver = false;
+        this.winner = null;
+        this.lastDelta = null;
+    }
+
+    /**
+     * Fotografa a posição atual; a fotografia é imutável e não depende deste jogo.
+     *
+     * @return fotografia da posição e do jogador a jogar
+     */
+    public BoardSnapshot snapshot() {
+        return BoardSnapshot.of(board, currentPlayer);
+    }
+
+    /**
+     * Repõe uma posição fotografada (o estado de fim de jogo é recalculado).
+     *
+     * @param snapshot fotografia a repor
+     */
+    public void restore(BoardSnapshot snapshot) {
+        if (snapshot == null)
+            throw new IllegalArgumentException("Invalid snapshot");
+        snapshot.restore(board);
+        this.currentPlayer = snapshot.getSideToMove();
+        this.winner = null;
+        this.lastDelta = null;
+        this.gameOver = checkGameOver() != End_Type.CONTINUE;
+    }
+
+    /**
+     * Exporta a posição atual em notação FEN.
+     *
+     * @return posição em notação FEN
+     */
+    public String exportFen() {
+        return Fen.export(board, currentPlayer);
+    }
+
+    /**
+     * Obtém a chave de Zobrist da posição atual (inclui o jogador a jogar).
+     * Duas posições iguais têm a mesma chave, independentemente da ordem das jogadas.
+     *
+     * @return chave de 64 bits da posição
+     */
+    public long getZobristKey() {
+        return board.getZobristKey(currentPlayer);
+    }
+
+    /**
+     * Obtém uma cópia do tabuleiro atual, que pode ser analisada (ex: por uma pesquisa)
+     * sem alterar o jogo.
+     *
+     * @return cópia independente do tabuleiro
+     */
+    public Board copyBoard() {
+        return board.copy();
+    }
+
     /**
      * Guarda o jogo num ficheiro.
      *
@@ -1,20 +1,225 @@
 package pt.isec.pa.chess.model.data;
 
+import pt.isec.pa.chess.model.data.pieces.PieceColor;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
 import java.io.*;
+import java.nio.ByteBuffer;
 
+/**
+ * Formato binário dos jogos guardados (versão 1), sem serialização Java:
+ * <pre>
+ * int      "PACG"
+ * byte     versão
+ * posição  flags (bit 0: pretas jogam, bits 1-4: roque, bit 5: tem jogadas), casa de en passant
+ *          (0xFF se não houver) e 32 bytes com as 64 casas, uma por nibble (a1 primeiro, nibble baixo)
+ * UTF      nome das brancas, nome das pretas
+ * [se tiver jogadas: posição inicial, número de jogadas (unsigned short) e as jogadas em shorts]
+ * </pre>
+ * Nibble de cada casa: 0 vazia, ordinal do PieceType + 1 nas brancas, + 9 nas pretas.
+ * Um jogo sem jogadas ocupa cerca de 60 bytes. Ao ler, cada posição tem de ter um rei
+ * de cada cor e nenhum peão na primeira ou na última linha.
+ */
 public final class ChessGameSerialization {
+    public static final int MAGIC = 0x50414347; // "PACG"
+    public static final int VERSION = 1;
+
+    private static final int BLACK_TO_MOVE = 1;
+    private static final int HAS_MOVES = 1 << 5;
+    private static final int NO_EN_PASSANT = 0xFF;
+    private static final int JAVA_SERIALIZATION_MAGIC = 0xACED;
+    private static final PieceType[] TYPES = PieceType.values();
+    private static final long BACK_RANKS = 0xFF000000000000FFL; // linhas 1 e 8
 
     private ChessGameSerialization() {} // Impede instância
 
+    /**
+     * Jogo lido de um ficheiro: o jogo na posição guardada e, se existirem,
+     * a posição inicial e as jogadas que levaram até ela.
+     */
+    public static final class SavedGame {
+        private final ChessGame game;
+        private final BoardSnapshot start;
+        private final int[] moves;
+
+        private SavedGame(ChessGame game, BoardSnapshot start, int[] moves) {
+            this.game = game;
+            this.start = start;
+            this.moves = moves;
+        }
+
+        public ChessGame getGame() {
+            return game;
+        }
+
+        // Posição inicial das jogadas, ou null se o ficheiro não as tiver
+        public BoardSnapshot getStart() {
+            return start;
+        }
+
+        public int[] getMoves() {
+            return moves.clone();
+        }
+    }
+
     public static void serialize(ChessGame game, String filename) throws IOException {
-        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(filename))) {
-            out.writeObject(game);
+        serialize(game, null, new int[0], filename);
+    }
+
+    /**
+     * Guarda o jogo e as jogadas desde a posição inicial.
+     *
+     * @param game jogo a guardar
+     * @param start posição inicial das jogadas (null se não houver jogadas)
+     * @param moves jogadas codificadas em {@link Move}
+     * @param filename ficheiro de destino
+     */
+    public static void serialize(ChessGame game, BoardSnapshot start, int[] moves, String filename) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(filename)))) {
+            write(out, game, start, moves);
+        }
+    }
+
+    public static ChessGame deserialize(String filename) throws IOException {
+        return load(filename).getGame();
+    }
+
+    public static SavedGame load(String filename) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(filename)))) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Escreve o jogo no formato binário.
+     *
+     * @param out destino
+     * @param game jogo a guardar
+     * @param start posição inicial das jogadas (ignorada se não houver jogadas)
+     * @param moves jogadas codificadas em {@link Move}, ou vazio
+     */
+    public static void write(DataOutput out, ChessGame game, BoardSnapshot start, int[] moves) throws IOException {
+        if (game == null)
+            throw new IllegalArgumentException("Invalid game");
+        boolean hasMoves = start != null && moves != null && moves.length > 0;
+        if (hasMoves && moves.length > 0xFFFF)
+            throw new IllegalArgumentException("Too many moves: " + moves.length);
+
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        writePosition(out, game.snapshot(), hasMoves ? HAS_MOVES : 0);
+        out.writeUTF(game.getWhitePlayerName());
+        out.writeUTF(game.getBlackPlayerName());
+        if (hasMoves) {
+            writePosition(out, start, 0);
+            out.writeShort(moves.length);
+            for (int move : moves)
+                out.writeShort(move & 0x7FFF); // origem, destino e promoção
         }
     }
 
-    public static ChessGame deserialize(String filename) throws IOException, ClassNotFoundException {
-        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(filename))) {
-            return (ChessGame) in.readObject();
+    /**
+     * Lê um jogo escrito por {@link #write}.
+     *
+     * @param in origem
+     * @return jogo na posição guardada, com as jogadas se existirem
+     * @throws IOException se os dados não estiverem no formato esperado
+     */
+    public static SavedGame read(DataInput in) throws IOException {
+        int magic = in.readInt();
+        if (magic != MAGIC) {
+            if (magic >>> 16 == JAVA_SERIALIZATION_MAGIC)
+                throw new IOException("Ficheiro no formato antigo (serialização Java), já não suportado");
+            throw new IOException("Não é um jogo guardado");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION)
+            throw new IOException("Versão não suportada: " + version);
+
+        int flags = in.readUnsignedByte();
+        BoardSnapshot position = readPosition(in, flags);
+        ChessGame game = new ChessGame(in.readUTF(), in.readUTF());
+        game.restore(position);
+
+        BoardSnapshot start = null;
+        int[] moves = new int[0];
+        if ((flags & HAS_MOVES) != 0) {
+            start = readPosition(in, in.readUnsignedByte());
+            moves = new int[in.readUnsignedShort()];
+            for (int i = 0; i < moves.length; i++)
+                moves[i] = in.readUnsignedShort();
         }
+        return new SavedGame(game, start, moves);
+    }
+
+    // Conveniência para guardar em memória (ex: enviar por rede ou guardar numa base de dados)
+    public static byte[] toBytes(ChessGame game, BoardSnapshot start, int[] moves) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            write(out, game, start, moves);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // não acontece em memória
+        }
+        return bytes.toByteArray();
+    }
+
+    public static SavedGame fromBytes(ByteBuffer buffer) throws IOException {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return read(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    private static void writePosition(DataOutput out, BoardSnapshot position, int extraFlags) throws IOException {
+        int flags = extraFlags | (position.getCastlingRights() << 1)
+                | (position.getSideToMove() == PieceColor.BLACK ? BLACK_TO_MOVE : 0);
+        Position ep = position.getEnPassantSquare();
+        out.writeByte(flags);
+        out.writeByte(ep == null ? NO_EN_PASSANT : ep.getIndex());
+
+        byte[] squares = new byte[32];
+        for (PieceColor color : PieceColor.values()) {
+            int offset = color == PieceColor.WHITE ? 1 : 9;
+            for (PieceType type : TYPES) {
+                for (long bits = position.getBitboard(color, type); bits != 0; bits &= bits - 1) {
+                    int sq = Long.numberOfTrailingZeros(bits);
+                    squares[sq >>> 1] |= (byte) ((type.ordinal() + offset) << ((sq & 1) * 4));
+                }
+            }
+        }
+        out.write(squares);
+    }
+
+    // Um rei por cor e nenhum peão na primeira ou na última linha
+    private static void checkPlayable(long[] masks) throws IOException {
+        if (Long.bitCount(masks[PieceType.KING.ordinal()]) != 1)
+            throw new IOException("Posição inválida: tem de haver exatamente um rei de cada cor");
+        if ((masks[PieceType.PAWN.ordinal()] & BACK_RANKS) != 0)
+            throw new IOException("Posição inválida: peão na primeira ou na última linha");
+    }
+
+    private static BoardSnapshot readPosition(DataInput in, int flags) throws IOException {
+        int ep = in.readUnsignedByte();
+        byte[] squares = new byte[32];
+        in.readFully(squares);
+
+        long[] white = new long[TYPES.length];
+        long[] black = new long[TYPES.length];
+        for (int sq = 0; sq < 64; sq++) {
+            int code = (squares[sq >>> 1] >>> ((sq & 1) * 4)) & 0xF;
+            if (code == 0)
+                continue;
+            boolean isWhite = code < 9;
+            int type = code - (isWhite ? 1 : 9);
+            if (type < 0 || type >= TYPES.length)
+                throw new IOException("Casa inválida: " + Position.of(sq));
+            (isWhite ? white : black)[type] |= 1L << sq;
+        }
+        if (ep != NO_EN_PASSANT && ep > 63)
+            throw new IOException("Casa de en passant inválida: " + ep);
+        checkPlayable(white);
+        checkPlayable(black);
+
+        PieceColor side = (flags & BLACK_TO_MOVE) != 0 ? PieceColor.BLACK : PieceColor.WHITE;
+        return BoardSnapshot.of(white, black, side, (flags >>> 1) & 0xF, ep == NO_EN_PASSANT ? -1 : ep);
     }
 }
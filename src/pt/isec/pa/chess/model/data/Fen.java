@@ -0,0 +1,174 @@
+package pt.isec.pa.chess.model.data;
+
+import pt.isec.pa.chess.model.data.pieces.*;
+
+/**
+ * Leitura e escrita de posições em notação FEN (Forsyth-Edwards).
+ * Os direitos de roque e o en passant do FEN são convertidos para o estado que o modelo usa:
+ * hasMoved do rei/torres/peões e o último movimento do tabuleiro.
+ * Os contadores de meias-jogadas e de jogadas são ignorados.
+ */
+public final class Fen {
+    public static final String START_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private Fen() {} // Impede instância
+
+    /**
+     * Coloca no tabuleiro a posição descrita pelo FEN.
+     *
+     * @param board tabuleiro a preencher (é limpo antes)
+     * @param fen posição em notação FEN
+     * @return cor do jogador a jogar
+     */
+    public static PieceColor load(Board board, String fen) {
+        if (fen == null || fen.isBlank())
+            throw new IllegalArgumentException("FEN vazio");
+
+        String[] fields = fen.strip().split("\\s+");
+        String[] ranks = fields[0].split("/");
+        if (ranks.length != 8)
+            throw new IllegalArgumentException("FEN inválido: " + fen);
+
+        board.clear();
+        board.setLastMove(null, null, null);
+        for (int i = 0; i < 8; i++) {
+            int row = 8 - i;
+            char col = 'a';
+            for (char c : ranks[i].toCharArray()) {
+                if (Character.isDigit(c)) {
+                    col += (char) (c - '0');
+                    continue;
+                }
+                PieceType type = PieceType.fromChar(Character.toUpperCase(c));
+                if (type == null || col > 'h')
+                    throw new IllegalArgumentException("FEN inválido: " + fen);
+
+                PieceColor color = Character.isUpperCase(c) ? PieceColor.WHITE : PieceColor.BLACK;
+                Piece piece = PieceFactory.createPiece(type, color, col, row);
+                if (!isHomeSquare(piece))
+                    piece.setHasMoved();
+                board.placePiece(piece);
+                col++;
+            }
+            if (col != 'i')
+                throw new IllegalArgumentException("FEN inválido: " + fen);
+        }
+
+        PieceColor sideToMove = fields.length > 1 && fields[1].equals("b") ? PieceColor.BLACK : PieceColor.WHITE;
+        applyCastlingRights(board, fields.length > 2 ? fields[2] : "-");
+        if (fields.length > 3 && !fields[3].equals("-"))
+            applyEnPassant(board, Position.fromString(fields[3]), sideToMove);
+
+        return sideToMove;
+    }
+
+    /**
+     * Exporta a posição do tabuleiro em notação FEN.
+     *
+     * @param board tabuleiro
+     * @param sideToMove cor do jogador a jogar
+     * @return posição em notação FEN
+     */
+    public static String export(Board board, PieceColor sideToMove) {
+        StringBuilder sb = new StringBuilder();
+        for (int row = 8; row >= 1; row--) {
+            int empty = 0;
+            for (char col = 'a'; col <= 'h'; col++) {
+                Piece piece = board.getPieceAt(Position.of(col, row));
+                if (piece == null) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    sb.append(empty);
+                    empty = 0;
+                }
+                char c = piece.getPieceType().toString().charAt(0);
+                sb.append(piece.getColor() == PieceColor.WHITE ? c : Character.toLowerCase(c));
+            }
+            if (empty > 0)
+                sb.append(empty);
+            if (row > 1)
+                sb.append('/');
+        }
+
+        sb.append(sideToMove == PieceColor.WHITE ? " w " : " b ");
+
+        String castling = (canCastle(board, PieceColor.WHITE, 'h') ? "K" : "")
+                + (canCastle(board, PieceColor.WHITE, 'a') ? "Q" : "")
+                + (canCastle(board, PieceColor.BLACK, 'h') ? "k" : "")
+                + (canCastle(board, PieceColor.BLACK, 'a') ? "q" : "");
+        sb.append(castling.isEmpty() ? "-" : castling);
+
+        Position enPassant = enPassantSquare(board);
+        sb.append(' ').append(enPassant == null ? "-" : enPassant.toString());
+        return sb.append(" 0 1").toString();
+    }
+
+    // Casa saltada pelo último avanço duplo de peão, ou null
+    public static Position enPassantSquare(Board board) {
+        Piece last = board.getLastMovedPiece();
+        if (last == null || last.getPieceType() != PieceType.PAWN)
+            return null;
+        Position from = board.getLastMoveFrom();
+        Position to = board.getLastMoveTo();
+        if (Math.abs(to.getRow() - from.getRow()) != 2)
+            return null;
+        return Position.of(to.getCol(), (to.getRow() + from.getRow()) / 2);
+    }
+
+    static boolean isHomeSquare(Piece piece) {
+        Position pos = piece.getPosition();
+        int homeRow = piece.getColor() == PieceColor.WHITE ? 1 : 8;
+        return switch (piece.getPieceType()) {
+            case PAWN -> pos.getRow() == (piece.getColor() == PieceColor.WHITE ? 2 : 7);
+            case KING -> pos.getRow() == homeRow && pos.getCol() == 'e';
+            case ROOK -> pos.getRow() == homeRow && (pos.getCol() == 'a' || pos.getCol() == 'h');
+            default -> true; // hasMoved não é usado pelas restantes peças
+        };
+    }
+
+    // Sem direito de roque num lado, a torre desse lado fica marcada como movida;
+    // sem nenhum direito, também o rei
+    static void applyCastlingRights(Board board, String rights) {
+        for (PieceColor color : PieceColor.values()) {
+            boolean white = color == PieceColor.WHITE;
+            boolean kingside = rights.indexOf(white ? 'K' : 'k') >= 0;
+            boolean queenside = rights.indexOf(white ? 'Q' : 'q') >= 0;
+            int row = white ? 1 : 8;
+
+            if (!kingside)
+                markMoved(board, Position.of('h', row), PieceType.ROOK, color);
+            if (!queenside)
+                markMoved(board, Position.of('a', row), PieceType.ROOK, color);
+            if (!kingside && !queenside)
+                markMoved(board, Position.of('e', row), PieceType.KING, color);
+        }
+    }
+
+    private static void markMoved(Board board, Position pos, PieceType type, PieceColor color) {
+        Piece piece = board.getPieceAt(pos);
+        if (piece != null && piece.getPieceType() == type && piece.getColor() == color)
+            piece.setHasMoved();
+    }
+
+    // O modelo deduz o en passant do último movimento: reconstrói o avanço duplo do adversário
+    static void applyEnPassant(Board board, Position square, PieceColor sideToMove) {
+        if (square == null)
+            throw new IllegalArgumentException("Casa de en passant inválida");
+        int direction = sideToMove == PieceColor.WHITE ? -1 : 1; // sentido em que o peão adversário avançou
+        Position to = Position.of(square.getCol(), square.getRow() + direction);
+        Position from = Position.of(square.getCol(), square.getRow() - direction);
+        Piece pawn = board.getPieceAt(to);
+        if (pawn != null && pawn.getPieceType() == PieceType.PAWN && pawn.getColor() != sideToMove)
+            board.setLastMove(from, to, pawn);
+    }
+
+    static boolean canCastle(Board board, PieceColor color, char rookCol) {
+        int row = color == PieceColor.WHITE ? 1 : 8;
+        Piece king = board.getPieceAt(Position.of('e', row));
+        Piece rook = board.getPieceAt(Position.of(rookCol, row));
+        return king != null && king.getPieceType() == PieceType.KING && king.getColor() == color && !king.hasMoved()
+                && rook != null && rook.getPieceType() == PieceType.ROOK && rook.getColor() == color && !rook.hasMoved();
+    }
+}
@@ -0,0 +1,171 @@
+package pt.isec.pa.chess.model.data;
+
+/**
+ * Ataques das peças deslizantes (torre, bispo, rainha) por "magic bitboards".
+ * As tabelas são construídas uma única vez ao carregar a classe: para cada casa um número mágico
+ * mapeia, sem colisões destrutivas, cada ocupação relevante para um índice da tabela de ataques.
+ * Depois disso um ataque custa uma multiplicação e um acesso ao array.
+ * Os números mágicos vêm pré-calculados (a procura demora centenas de ms); se algum deixar de ser
+ * válido é procurado outro na construção da tabela.
+ */
+public final class MagicBitboards {
+
+    private static final long[] KNOWN_ROOK_MAGICS = {
+            0x008000908064C000L, 0x0040200040001000L, 0x0180100080A0010AL, 0x8880041000800800L,
+            0x1200100201200804L, 0x0200020004011008L, 0x2180010000800600L, 0x0200005088210204L,
+            0x0400800040008021L, 0x0400400020005000L, 0x8240801000200080L, 0x8611001004200900L,
+            0x008180800C001800L, 0x0100800200800400L, 0x0A02000102000408L, 0x8020802300104280L,
+            0x0080004000402000L, 0xE010104000402000L, 0x0800808010002000L, 0xA280210008100100L,
+            0x0001818014000800L, 0xA002010100080400L, 0x0080240001020870L, 0x0001020004048845L,
+            0x0081826280004004L, 0x2020810900284000L, 0x0200100080802000L, 0x0200080080100080L,
+            0x8083080100100500L, 0x4406000901000400L, 0x0005020080800100L, 0x0090204200008114L,
+            0x0010400094800420L, 0x0900804000802002L, 0x0201001841002000L, 0x4100080080801000L,
+            0x4540040080800800L, 0x0002001004040020L, 0x0281195814001002L, 0x1240800040800100L,
+            0x0880042000524004L, 0x02C080410206002CL, 0x0801200241050010L, 0x8400080010008080L,
+            0x0008000500090010L, 0x0082009084020008L, 0x4012000108020004L, 0x9000104D08860004L,
+            0x2004204114800100L, 0x0148802112400300L, 0x0202842000100880L, 0x001B080080900080L,
+            0x001A002008100600L, 0x0004008004020080L, 0x5181000600040300L, 0x0000044401128A00L,
+            0x8044110480002441L, 0x2008110084402202L, 0x90806005090010C1L, 0x000420310A004A42L,
+            0x0023001004020801L, 0x0882001008040102L, 0x000230088118020CL, 0x0000019025040042L
+    };
+
+    private static final long[] KNOWN_BISHOP_MAGICS = {
+            0x0045010808008680L, 0x2002080204004898L, 0x0210009A10400006L, 0x0824050200810200L,
+            0x0006061105004090L, 0x00010108C0000000L, 0x0814040282104004L, 0x0012012201106800L,
+            0x10823014100C1040L, 0x0080C2088802808CL, 0x0281108410404000L, 0x0101212041826200L,
+            0x0020141028221058L, 0x2201020202200202L, 0x000082A801482000L, 0x0000008401411044L,
+            0x0007103014300404L, 0x0002091110010100L, 0x42140012040C0808L, 0x0800808802004020L,
+            0x90C4004210140000L, 0x0800200900A01000L, 0x00D0400201108810L, 0x80820183814412A0L,
+            0x00A01008202202B4L, 0x01C2021A09500402L, 0x0084440208042400L, 0x800400400C090100L,
+            0xBA10040010802100L, 0xD182009006005000L, 0x5011021001009004L, 0x0020420200510400L,
+            0x0292104000468800L, 0x00043009091C0500L, 0x0280441000020025L, 0x0042820080080080L,
+            0x0440101010010040L, 0x1000900100808080L, 0x0108108120089800L, 0x0044010200012682L,
+            0xC002500420900400L, 0x0040482210710800L, 0x0002060024000200L, 0x0281020A44000800L,
+            0xA0021200A4000200L, 0x0001301000840840L, 0x2868500108444220L, 0x0004111041000200L,
+            0x8044020842080200L, 0x0000220104210200L, 0x0000021201044000L, 0x0000280884040028L,
+            0x4012114010858003L, 0x0000081004082B88L, 0x3892700508208002L, 0x00220A041B060400L,
+            0x0812020284014881L, 0x010434A282103100L, 0x0490400824020800L, 0x4A20002C00208800L,
+            0x000000A011020200L, 0x4002940A02482202L, 0x5100100202140406L, 0x02102000840540C1L
+    };
+
+    private static final long[] ROOK_MASKS = new long[64];
+    private static final long[] ROOK_MAGICS = new long[64];
+    private static final int[] ROOK_SHIFTS = new int[64];
+    private static final int[] ROOK_OFFSETS = new int[64];
+
+    private static final long[] BISHOP_MASKS = new long[64];
+    private static final long[] BISHOP_MAGICS = new long[64];
+    private static final int[] BISHOP_SHIFTS = new int[64];
+    private static final int[] BISHOP_OFFSETS = new int[64];
+
+    private static final long[] ROOK_TABLE;
+    private static final long[] BISHOP_TABLE;
+
+    private static long seed = 0x2545F4914F6CDD1DL; // semente fixa para tabelas reprodutíveis
+
+    static {
+        ROOK_TABLE = build(true, KNOWN_ROOK_MAGICS, ROOK_MASKS, ROOK_MAGICS, ROOK_SHIFTS, ROOK_OFFSETS);
+        BISHOP_TABLE = build(false, KNOWN_BISHOP_MAGICS, BISHOP_MASKS, BISHOP_MAGICS, BISHOP_SHIFTS, BISHOP_OFFSETS);
+    }
+
+    private MagicBitboards() {} // Impede instância
+
+    public static long rookAttacks(int square, long occupied) {
+        int index = (int) (((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square]);
+        return ROOK_TABLE[ROOK_OFFSETS[square] + index];
+    }
+
+    public static long bishopAttacks(int square, long occupied) {
+        int index = (int) (((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square]);
+        return BISHOP_TABLE[BISHOP_OFFSETS[square] + index];
+    }
+
+    public static long queenAttacks(int square, long occupied) {
+        return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+    }
+
+    private static long[] build(boolean rook, long[] known, long[] masks, long[] magics, int[] shifts, int[] offsets) {
+        int total = 0;
+        for (int sq = 0; sq < 64; sq++) {
+            masks[sq] = relevantMask(sq, rook);
+            offsets[sq] = total;
+            total += 1 << Long.bitCount(masks[sq]);
+        }
+
+        long[] table = new long[total];
+        for (int sq = 0; sq < 64; sq++) {
+            int bits = Long.bitCount(masks[sq]);
+            int size = 1 << bits;
+            long[] occupancies = new long[size];
+            long[] attacks = new long[size];
+
+            // Enumera todos os subconjuntos da máscara (Carry-Rippler)
+            long subset = 0;
+            for (int i = 0; i < size; i++) {
+                occupancies[i] = subset;
+                attacks[i] = rook ? AttackTables.rookAttacks(sq, subset) : AttackTables.bishopAttacks(sq, subset);
+                subset = (subset - masks[sq]) & masks[sq];
+            }
+
+            shifts[sq] = 64 - bits;
+            int[] epoch = new int[size];
+            magics[sq] = fill(known[sq], shifts[sq], occupancies, attacks, table, offsets[sq], epoch, 1)
+                    ? known[sq]
+                    : findMagic(masks[sq], shifts[sq], occupancies, attacks, table, offsets[sq], epoch);
+        }
+        return table;
+    }
+
+    private static long findMagic(long mask, int shift, long[] occupancies, long[] attacks,
+                                  long[] table, int offset, int[] epoch) {
+        for (int attempt = 2; ; attempt++) {
+            long magic = nextRandom() & nextRandom() & nextRandom(); // números esparsos funcionam melhor
+            if (Long.bitCount((mask * magic) & 0xFF00000000000000L) < 6)
+                continue;
+            if (fill(magic, shift, occupancies, attacks, table, offset, epoch, attempt))
+                return magic;
+        }
+    }
+
+    // Preenche a tabela da casa; falha se duas ocupações com ataques diferentes colidirem
+    private static boolean fill(long magic, int shift, long[] occupancies, long[] attacks,
+                                long[] table, int offset, int[] epoch, int attempt) {
+        for (int i = 0; i < occupancies.length; i++) {
+            int index = (int) ((occupancies[i] * magic) >>> shift);
+            if (epoch[index] != attempt) { // epoch evita limpar a tabela a cada tentativa
+                epoch[index] = attempt;
+                table[offset + index] = attacks[i];
+            } else if (table[offset + index] != attacks[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Casas cujo conteúdo influencia o ataque (exclui as bordas no fim de cada raio)
+    private static long relevantMask(int square, boolean rook) {
+        long mask = 0;
+        int first = rook ? 0 : 4;
+        for (int d = first; d < first + 4; d++) {
+            int col = (square & 7) + AttackTables.DIRECTIONS[d][0];
+            int row = (square >>> 3) + AttackTables.DIRECTIONS[d][1];
+            int nextCol = col + AttackTables.DIRECTIONS[d][0];
+            int nextRow = row + AttackTables.DIRECTIONS[d][1];
+            while (nextCol >= 0 && nextCol < 8 && nextRow >= 0 && nextRow < 8) {
+                mask |= 1L << (col + (row << 3));
+                col = nextCol;
+                row = nextRow;
+                nextCol += AttackTables.DIRECTIONS[d][0];
+                nextRow += AttackTables.DIRECTIONS[d][1];
+            }
+        }
+        return mask;
+    }
+
+    private static long nextRandom() { // xorshift64*
+        seed ^= seed >>> 12;
+        seed ^= seed << 25;
+        seed ^= seed >>> 27;
+        return seed * 0x2545F4914F6CDD1DL;
+    }
+}
@@ -0,0 +1,101 @@
+package pt.isec.pa.chess.model.data;
+
+import pt.isec.pa.chess.model.data.pieces.Piece;
+import pt.isec.pa.chess.model.data.pieces.PieceColor;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tabuleiro baseado num mapa posição -> peça.
+ * Mantido como implementação de referência para testes diferenciais com o {@link BitBoard}.
+ */
+public class MapBoard extends Board {
+    private static final long serialVersionUID = 1L;
+
+    private final Map<Position, Piece> board;  // Mapa de peças  com respetivo ID
+
+    public MapBoard() {
+        this(8); //tamanho default - 8x8
+    }
+
+    public MapBoard(int size) {
+        this(size, true);
+    }
+
+    // Sem as peças iniciais: usado nas cópias, que são preenchidas logo a seguir
+    private MapBoard(int size, boolean initialize) {
+        super(size);
+        this.board = new HashMap<>();
+        if (initialize)
+            initializeBoard();
+    }
+
+    @Override
+    protected Board newEmptyBoard() {
+        return new MapBoard(getBoardSize(), false);
+    }
+
+    @Override
+    protected Piece pieceAt(Position pos) {
+        return board.get(pos);
+    }
+
+    @Override
+    protected void putPiece(Position pos, Piece piece) {
+        board.put(pos, piece);
+    }
+
+    @Override
+    protected Piece takePiece(Position pos) {
+        return board.remove(pos);
+    }
+
+    @Override
+    protected void clearPieces() {
+        board.clear();
+    }
+
+    @Override
+    public Collection<Piece> getAllPieces() {
+        return new ArrayList<>(board.values()); // Return a copy of the values in board
+    }
+
+    @Override
+    public Collection<Piece> getPiecesOfColor(PieceColor color) {
+        return board.values().stream()
+                .filter(piece -> piece.getColor() == color)
+                .toList();
+    }
+
+    @Override
+    public long getOccupancy() {
+        long occupied = 0;
+        for (Position pos : board.keySet())
+            occupied |= 1L << pos.getIndex();
+        return occupied;
+    }
+
+    @Override
+    public long getOccupancy(PieceColor color) {
+        long occupied = 0;
+        for (Piece piece : board.values()) {
+            if (piece.getColor() == color)
+                occupied |= 1L << piece.getPosition().getIndex();
+        }
+        return occupied;
+    }
+
+    @Override
+    public long getBitboard(PieceColor color, PieceType type) {
+        long bits = 0;
+        for (Piece piece : board.values()) {
+            if (piece.getColor() == color && piece.getPieceType() == type)
+                bits |= 1L << piece.getPosition().getIndex();
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,88 @@
+package pt.isec.pa.chess.model.data;
+
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+/**
+ * Codificação de um movimento num int, para evitar criar objetos durante a geração e a pesquisa.
+ * <pre>
+ * bits  0-5   casa de origem (Position.getIndex())
+ * bits  6-11  casa de destino
+ * bits 12-14  peça de promoção (ordinal de PieceType + 1, 0 se não houver)
+ * bits 15-18  flags: captura, roque, en passant, avanço duplo de peão
+ * </pre>
+ */
+public final class Move {
+    public static final int NONE = 0;
+
+    public static final int CAPTURE = 1 << 15;
+    public static final int CASTLE = 1 << 16;
+    public static final int EN_PASSANT = 1 << 17;
+    public static final int DOUBLE_PUSH = 1 << 18;
+
+    private static final int FLAGS_MASK = CAPTURE | CASTLE | EN_PASSANT | DOUBLE_PUSH;
+    private static final int SQUARE_MASK = 0x3F;
+    private static final int PROMOTION_SHIFT = 12;
+    private static final int PROMOTION_MASK = 0x7;
+    private static final PieceType[] TYPES = PieceType.values();
+
+    private Move() {} // Impede instância
+
+    public static int of(int from, int to, int flags) {
+        return from | (to << 6) | flags;
+    }
+
+    public static int of(int from, int to, PieceType promotion, int flags) {
+        return of(from, to, flags) | ((promotion.ordinal() + 1) << PROMOTION_SHIFT);
+    }
+
+    // Mesma jogada com outra peça de promoção
+    public static int withPromotion(int move, PieceType promotion) {
+        return of(from(move), to(move), promotion, flags(move));
+    }
+
+    public static int from(int move) {
+        return move & SQUARE_MASK;
+    }
+
+    public static int to(int move) {
+        return (move >>> 6) & SQUARE_MASK;
+    }
+
+    public static PieceType promotion(int move) {
+        int code = (move >>> PROMOTION_SHIFT) & PROMOTION_MASK;
+        return code == 0 ? null : TYPES[code - 1];
+    }
+
+    public static int flags(int move) {
+        return move & FLAGS_MASK;
+    }
+
+    public static boolean isPromotion(int move) {
+        return ((move >>> PROMOTION_SHIFT) & PROMOTION_MASK) != 0;
+    }
+
+    public static boolean isCapture(int move) {
+        return (move & CAPTURE) != 0;
+    }
+
+    public static boolean isCastle(int move) {
+        return (move & CASTLE) != 0;
+    }
+
+    public static boolean isEnPassant(int move) {
+        return (move & EN_PASSANT) != 0;
+    }
+
+    public static boolean isDoublePush(int move) {
+        return (move & DOUBLE_PUSH) != 0;
+    }
+
+    // Notação de coordenadas, ex: "e2e4" ou "e7e8q"
+    public static String toString(int move) {
+        if (move == NONE)
+            return "0000";
+        String str = Position.of(from(move)).toString() + Position.of(to(move));
+        PieceType promotion = promotion(move);
+        return promotion == null ? str : str + Character.toLowerCase(promotion.toString().charAt(0));
+    }
+}
@@ -0,0 +1,41 @@
+package pt.isec.pa.chess.model.data;
+
+import pt.isec.pa.chess.model.data.pieces.Piece;
+import pt.isec.pa.chess.model.data.pieces.PieceColor;
+
+/**
+ * Diferença introduzida por uma jogada do {@link ChessGame}: o {@link UndoInfo} do tabuleiro
+ * (peça movida, capturada, torre do roque, en passant), a promoção feita depois da jogada
+ * e o estado do jogo antes e depois. Permite desfazer e refazer a jogada no próprio jogo,
+ * em tempo constante e sem copiar nem serializar o tabuleiro.
+ */
+public class MoveDelta {
+    final UndoInfo undo = new UndoInfo();
+    Piece pawn;     // peão promovido (null se não houve promoção)
+    Piece promoted; // peça que o substituiu
+
+    PieceColor playerBefore;
+    boolean gameOverBefore;
+    PieceColor winnerBefore;
+    boolean gameOverAfter;
+    PieceColor winnerAfter;
+
+    MoveDelta() {}
+
+    // Jogada completa, com a peça de promoção escolhida
+    public int getMove() {
+        return promoted == null ? undo.move : Move.withPromotion(undo.move, promoted.getPieceType());
+    }
+
+    public Piece getCaptured() {
+        return undo.captured;
+    }
+
+    public Piece getPromoted() {
+        return promoted;
+    }
+
+    public PieceColor getPlayer() {
+        return playerBefore;
+    }
+}
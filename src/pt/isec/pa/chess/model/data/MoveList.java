@@ -0,0 +1,79 @@
+package pt.isec.pa.chess.model.data;
+
+import java.util.Arrays;
+
+/**
+ * Lista de movimentos codificados em int (ver {@link Move}), reutilizável entre gerações.
+ * Ao contrário de uma List&lt;Integer&gt; não cria objetos: clear() apenas repõe o tamanho.
+ */
+public class MoveList {
+    private static final int DEFAULT_CAPACITY = 256; // acima do máximo de jogadas numa posição legal
+
+    private int[] moves;
+    private int size;
+
+    public MoveList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MoveList(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Invalid capacity");
+        this.moves = new int[capacity];
+    }
+
+    public void add(int move) {
+        if (size == moves.length)
+            moves = Arrays.copyOf(moves, size * 2);
+        moves[size++] = move;
+    }
+
+    public int get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException(index);
+        return moves[index];
+    }
+
+    public void set(int index, int move) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException(index);
+        moves[index] = move;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int move) {
+        for (int i = 0; i < size; i++) {
+            if (moves[i] == move)
+                return true;
+        }
+        return false;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    // Remove o elemento trocando-o com o último (não mantém a ordem)
+    public void removeAt(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException(index);
+        moves[index] = moves[--size];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(Move.toString(moves[i]));
+        }
+        return sb.append(']').toString();
+    }
+}
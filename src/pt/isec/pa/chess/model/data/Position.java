@@ -1,13 +1,29 @@
 package pt.isec.pa.chess.model.data;
 
 import java.io.Serializable;
-import java.util.Objects;
 
+/**
+ * Casa do tabuleiro. Existe uma instância canónica por casa, obtida com {@link #of(int)},
+ * {@link #of(char, int)} ou {@link #fromString(String)}; o construtor continua disponível
+ * mas cria uma cópia (igual pelo equals) da instância canónica.
+ * Índice da casa = (coluna - 'a') + 8 * (linha - 1), ou seja a1 = 0, h1 = 7, a8 = 56, h8 = 63.
+ */
 public class Position implements Serializable {
     private static final long serialVersionUID = 1L;
 
-    private char col; // A-H
-    private int row; // 1-8
+    private static final Position[] SQUARES = new Position[64];
+    private static final String[] NAMES = new String[64];
+
+    static {
+        for (int index = 0; index < 64; index++) {
+            SQUARES[index] = new Position((char) ('a' + (index & 7)), (index >>> 3) + 1);
+            NAMES[index] = "" + SQUARES[index].col + SQUARES[index].row;
+        }
+    }
+
+    private final char col; // A-H
+    private final int row; // 1-8
+    private final int index; // 0-63
 
     public Position(char col, int row) {
         if (col < 'a' || col > 'h' || row < 1 || row > 8) {
@@ -15,6 +31,20 @@ public class Position implements Serializable {
         }
         this.col = col;
         this.row = row;
+        this.index = (col - 'a') + ((row - 1) << 3);
+    }
+
+    public static Position of(int index) {
+        if (index < 0 || index > 63)
+            throw new IllegalArgumentException("Posição inválida: " + index);
+        return SQUARES[index];
+    }
+
+    public static Position of(char col, int row) {
+        if (col < 'a' || col > 'h' || row < 1 || row > 8) {
+            throw new IllegalArgumentException("Posição inválida: " + col + row);
+        }
+        return SQUARES[(col - 'a') + ((row - 1) << 3)];
     }
 
     public char getCol() {
@@ -25,22 +55,25 @@ public class Position implements Serializable {
         return row;
     }
 
+    public int getIndex() {
+        return index;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
         if (obj == null || getClass() != obj.getClass()) return false;
-        Position position = (Position) obj;
-        return row == position.row && col == position.col;
+        return index == ((Position) obj).index;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(row, col);
+        return index;
     }
 
     @Override
     public String toString() {
-        return "" + col + row;
+        return NAMES[index];
     }
 
     public static Position fromString(String pos) {
@@ -55,12 +88,17 @@ public class Position implements Serializable {
             return null; // Posição inválida
         }
 
-        int row = Character.getNumericValue(rowChar); // Converte '1'-'8' para inteiro
+        int row = rowChar - '0'; // Converte '1'-'8' para inteiro
 
-        return new Position(col, row);
+        return SQUARES[(col - 'a') + ((row - 1) << 3)];
     }
 
     public boolean isValid() {
         return !(col < 'a' || col > 'h' || row < 1 || row > 8);
     }
+
+    // Ao desserializar devolve a instância canónica (também para dados gravados antes do índice existir)
+    private Object readResolve() {
+        return of(col, row);
+    }
 }
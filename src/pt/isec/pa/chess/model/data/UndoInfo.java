@@ -0,0 +1,29 @@
+package pt.isec.pa.chess.model.data;
+
+import pt.isec.pa.chess.model.data.pieces.Piece;
+
+/**
+ * Estado necessário para desfazer exatamente um {@link Board#makeMove(int, UndoInfo)}.
+ * Pode ser reutilizado entre jogadas (ex: um por nível de pesquisa) para não criar objetos.
+ */
+public class UndoInfo {
+    int move;
+    Piece moved;
+    boolean movedHadMoved;
+    Piece captured;
+    Position capturedAt;
+    Piece rook;
+    boolean rookHadMoved;
+    Piece promoted;
+    Position previousLastMoveFrom;
+    Position previousLastMoveTo;
+    Piece previousLastMovedPiece;
+
+    public int getMove() {
+        return move;
+    }
+
+    public Piece getCaptured() {
+        return captured;
+    }
+}
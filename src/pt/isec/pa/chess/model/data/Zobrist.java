@@ -0,0 +1,76 @@
+package pt.isec.pa.chess.model.data;
+
+import pt.isec.pa.chess.model.data.pieces.Piece;
+import pt.isec.pa.chess.model.data.pieces.PieceColor;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+import java.util.SplittableRandom;
+
+/**
+ * Chaves de Zobrist de 64 bits: XOR de um valor aleatório por (peça, casa),
+ * direito de roque, coluna de en passant e jogador a jogar.
+ * A semente é fixa para que a mesma posição tenha sempre a mesma chave entre execuções.
+ */
+public final class Zobrist {
+    private static final long SEED = 0x5A0B_15EC_C4E5_5L;
+
+    private static final int TYPES = PieceType.values().length;
+
+    private static final long[][] PIECES = new long[PieceColor.values().length * TYPES][64];
+    private static final long[] CASTLING = new long[4];   // K, Q, k, q
+    private static final long[] EN_PASSANT = new long[8]; // coluna
+    private static final long SIDE;                       // pretas a jogar
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (long[] squares : PIECES) {
+            for (int sq = 0; sq < 64; sq++)
+                squares[sq] = random.nextLong();
+        }
+        for (int i = 0; i < CASTLING.length; i++)
+            CASTLING[i] = random.nextLong();
+        for (int i = 0; i < EN_PASSANT.length; i++)
+            EN_PASSANT[i] = random.nextLong();
+        SIDE = random.nextLong();
+    }
+
+    private Zobrist() {} // Impede instância
+
+    public static long piece(PieceColor color, PieceType type, int square) {
+        return PIECES[color.ordinal() * TYPES + type.ordinal()][square];
+    }
+
+    public static long piece(Piece piece, int square) {
+        return piece(piece.getColor(), piece.getPieceType(), square);
+    }
+
+    // index: 0 = K, 1 = Q, 2 = k, 3 = q
+    public static long castling(int index) {
+        return CASTLING[index];
+    }
+
+    public static long enPassant(int file) {
+        return EN_PASSANT[file];
+    }
+
+    public static long side(PieceColor sideToMove) {
+        return sideToMove == PieceColor.BLACK ? SIDE : 0L;
+    }
+
+    // Chave calculada de raiz, para validar a versão incremental do tabuleiro
+    public static long compute(Board board, PieceColor sideToMove) {
+        long key = 0L;
+        for (Piece piece : board.getAllPieces())
+            key ^= piece(piece, piece.getPosition().getIndex());
+        return key ^ board.getStateKey() ^ side(sideToMove);
+    }
+
+    public static long computePawnKey(Board board) {
+        long key = 0L;
+        for (Piece piece : board.getAllPieces()) {
+            if (piece.getPieceType() == PieceType.PAWN)
+                key ^= piece(piece, piece.getPosition().getIndex());
+        }
+        return key;
+    }
+}
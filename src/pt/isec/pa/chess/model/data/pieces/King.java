@@ -36,15 +36,15 @@ public class King extends Piece {
 
         if (!hasMoved()) {
             // Kingside castle
-            Position kingsideRook = new Position('h', getPosition().getRow());
-            Position kingsideDest = new Position('g', getPosition().getRow());
+            Position kingsideRook = Position.of('h', getPosition().getRow());
+            Position kingsideDest = Position.of('g', getPosition().getRow());
             if (canCastle(kingsideRook, board)) {
                 moves.add(kingsideDest);
             }
 
             // Queenside castle
-            Position queensideRook = new Position('a', getPosition().getRow());
-            Position queensideDest = new Position('c', getPosition().getRow());
+            Position queensideRook = Position.of('a', getPosition().getRow());
+            Position queensideDest = Position.of('c', getPosition().getRow());
             if (canCastle(queensideRook, board)) {
                 moves.add(queensideDest);
             }
@@ -67,7 +67,7 @@ public class King extends Piece {
         // Rei mexe 2 casas
         if (Math.abs(to.getCol() - getPosition().getCol()) > 1) {
             char rookCol = (to.getCol() == 'g') ? 'h' : 'a';
-            Position rookPos = new Position(rookCol, getPosition().getRow());
+            Position rookPos = Position.of(rookCol, getPosition().getRow());
             Piece rook = board.getPieceAt(rookPos);
 
             if (rook instanceof Rook && rook.getColor() == getColor()) {
@@ -91,8 +91,8 @@ public class King extends Piece {
 
         boolean isKingside = rookPos.getCol() > getPosition().getCol();
         if (isKingside) {
-            Position f = new Position('f', getPosition().getRow());
-            Position g = new Position('g', getPosition().getRow());
+            Position f = Position.of('f', getPosition().getRow());
+            Position g = Position.of('g', getPosition().getRow());
 
             // Check if squares are empty or in check
             if (board.getPieceAt(f) != null || board.getPieceAt(g) != null) return false;
@@ -100,9 +100,9 @@ public class King extends Piece {
             if (board.isPositionUnderAttack(f, this.getColor().opposite()) ||
                     board.isPositionUnderAttack(g, this.getColor().opposite())) return false;
         } else {
-            Position b = new Position('b', getPosition().getRow());
-            Position c = new Position('c', getPosition().getRow());
-            Position d = new Position('d', getPosition().getRow());
+            Position b = Position.of('b', getPosition().getRow());
+            Position c = Position.of('c', getPosition().getRow());
+            Position d = Position.of('d', getPosition().getRow());
 
             // Check if squares are empty and in check
             if (board.getPieceAt(b) != null ||
@@ -125,27 +125,4 @@ public class King extends Piece {
 
         return MoveResult.CASTLE;
     }
-
-    public void executeCastle(Position rookPos, Board board) {
-        boolean isKingside = rookPos.getCol() > getPosition().getCol();
-
-        Position kingTargetPos;
-        Position rookTargetPos;
-        Position actualRookPos;
-
-        if (isKingside) { // King-side castle
-            actualRookPos = new Position('h', getPosition().getRow());
-            kingTargetPos = new Position('g', getPosition().getRow());
-            rookTargetPos = new Position('f', getPosition().getRow());
-        } else { // Queen-side castle
-            actualRookPos = new Position('a', getPosition().getRow());
-            kingTargetPos = new Position('c', getPosition().getRow());
-            rookTargetPos = new Position('d', getPosition().getRow());
-        }
-
-        Piece rook = board.getPieceAt(actualRookPos);
-
-        board.movePiece(this, kingTargetPos);
-        board.movePiece(rook, rookTargetPos);
-    }
 }
\ No newline at end of file
@@ -24,7 +24,7 @@ public class Pawn extends Piece {
 
         // Movimento inicial de duas casas para frente
         if (!hasMoved() && colDiff == 0 && rowDiff == 2 * direction) {
-            Position primeiraCasa = new Position(getPosition().getCol(), getPosition().getRow() + direction);
+            Position primeiraCasa = Position.of(getPosition().getCol(), getPosition().getRow() + direction);
             if (board.getPieceAt(primeiraCasa) == null && targetPiece == null) return 1;
         }
 
@@ -54,7 +54,7 @@ public class Pawn extends Piece {
 
         // en passant esquerda
         if (getPosition().getCol() > 'a') {
-            Position leftEnPassant = new Position(
+            Position leftEnPassant = Position.of(
                     (char)(getPosition().getCol() - 1),
                     getPosition().getRow() + direction
             );
@@ -68,7 +68,7 @@ public class Pawn extends Piece {
 
         // en passant direita
         if (getPosition().getCol() < 'h') {
-            Position rightEnPassant = new Position(
+            Position rightEnPassant = Position.of(
                     (char)(getPosition().getCol() + 1),
                     getPosition().getRow() + direction
             );
@@ -115,7 +115,7 @@ public class Pawn extends Piece {
 
         // Verificar direção
         int direction = (getColor() == PieceColor.WHITE) ? 1 : -1;
-        Position expectedTo = new Position(
+        Position expectedTo = Position.of(
                 (char) lastMovedPiece.getPosition().getCol(),
                 getPosition().getRow() + direction
         );
@@ -126,12 +126,6 @@ public class Pawn extends Piece {
         return MoveResult.EN_PASSANT;
     }
 
-    public void executeEnPassant(Position to, Board board) {
-        Piece capturedPawn = board.getLastMovedPiece();
-        board.removePiece(capturedPawn);
-        board.movePiece(this, to);
-    }
-
     public void promote(String promotionType, Board board) {
         Position position = getPosition();
 
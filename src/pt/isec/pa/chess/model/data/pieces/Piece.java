@@ -1,13 +1,14 @@
 package pt.isec.pa.chess.model.data.pieces;
 
 import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.MagicBitboards;
 import pt.isec.pa.chess.model.data.Position;
 
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
-public abstract class Piece implements Serializable {
+public abstract class Piece implements Serializable, Cloneable {
     private static final long serialVersionUID = 1L;
 
     private final PieceColor color;
@@ -21,7 +22,7 @@ public abstract class Piece implements Serializable {
         this.color = color;
         this.type = type;
         this.hasMoved = false;
-        this.position = new Position(col, row);
+        this.position = Position.of(col, row);
         // Definir ID
         char c = type.toString().charAt(0);
         this.id = (color == PieceColor.WHITE ? c : Character.toLowerCase(c)) + "" + col + row;
@@ -29,8 +30,10 @@ public abstract class Piece implements Serializable {
 
     public PieceColor getColor() { return color; }
     public String getType() { return type.name(); }
+    public PieceType getPieceType() { return type; }
     public boolean hasMoved() { return hasMoved; }
     public void setHasMoved() { this.hasMoved = true; }
+    public void setHasMoved(boolean hasMoved) { this.hasMoved = hasMoved; }
     public String getId() { return id; }
 
     public Position getPosition() { return position; }
@@ -39,7 +42,32 @@ public abstract class Piece implements Serializable {
         this.position = newPosition;
     }
 
+    // Cópia com o mesmo id, posição e hasMoved (usada para copiar tabuleiros)
+    public Piece copy() {
+        try {
+            Piece copy = (Piece) super.clone();
+            copy.possibleMoves = null;
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
     public List<Position> getPossibleMoves(Board board) {
+        // Peças deslizantes: ataques por tabela mágica em vez de percorrer cada raio casa a casa
+        switch (type) {
+            case ROOK -> {
+                return toMoves(MagicBitboards.rookAttacks(position.getIndex(), board.getOccupancy()), board);
+            }
+            case BISHOP -> {
+                return toMoves(MagicBitboards.bishopAttacks(position.getIndex(), board.getOccupancy()), board);
+            }
+            case QUEEN -> {
+                return toMoves(MagicBitboards.queenAttacks(position.getIndex(), board.getOccupancy()), board);
+            }
+            default -> { }
+        }
+
         List<Position> moves = new ArrayList<>();
 
         int[][] moveOffsets = getMoveOffsets(); // offsets possiveis de cada peça
@@ -56,7 +84,7 @@ public abstract class Piece implements Serializable {
                 if (newCol < 'a' || newCol > 'h' || newRow < 1 || newRow > 8)
                     break;
 
-                Position newPosition = new Position(newCol, newRow);
+                Position newPosition = Position.of(newCol, newRow);
                 Piece targetPiece = board.getPieceAt(newPosition);
 
                 if (isValidMove(newPosition, board) ==1){
@@ -70,6 +98,17 @@ public abstract class Piece implements Serializable {
         return moves;
     }
 
+    // Converte uma máscara de casas atingíveis (excluindo peças da própria cor) em posições
+    private List<Position> toMoves(long targets, Board board) {
+        targets &= ~board.getOccupancy(color);
+        List<Position> moves = new ArrayList<>(Long.bitCount(targets));
+        while (targets != 0) {
+            moves.add(Position.of(Long.numberOfTrailingZeros(targets)));
+            targets &= targets - 1;
+        }
+        return moves;
+    }
+
 //    @Override
 //    public String toString() {
 //        return color.name() + " " + type.name()+ " at " + position.toString();
@@ -0,0 +1,37 @@
+package pt.isec.pa.chess.model.search;
+
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.pieces.PieceColor;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+/**
+ * Avaliação estática: material e tabelas peça-casa, interpoladas pela fase do jogo,
+ * mais a estrutura de peões.
+ * O tabuleiro mantém a pontuação incrementalmente ({@link Board#getPieceSquareScore()})
+ * e a estrutura de peões vem de uma {@link PawnHashTable}, por isso avaliar uma folha
+ * não percorre as peças.
+ * Pontuação em centipeões do ponto de vista da cor indicada.
+ */
+public final class Evaluator {
+
+    // Valores simples por ordinal de PieceType (ROOK, BISHOP, QUEEN, KNIGHT, PAWN, KING),
+    // usados na ordenação de capturas e na avaliação de trocas
+    public static final int[] PIECE_VALUES = {500, 330, 900, 320, 100, 0};
+
+    private Evaluator() {} // Impede instância
+
+    // Sem tabela: a estrutura de peões é calculada de cada vez
+    public static int evaluate(Board board, PieceColor color) {
+        long white = board.getBitboard(PieceColor.WHITE, PieceType.PAWN);
+        long black = board.getBitboard(PieceColor.BLACK, PieceType.PAWN);
+        int score = board.getPieceSquareScore()
+                + PawnStructure.evaluate(PieceColor.WHITE, white, black)
+                - PawnStructure.evaluate(PieceColor.BLACK, black, white);
+        return color == PieceColor.WHITE ? score : -score;
+    }
+
+    public static int evaluate(Board board, PieceColor color, PawnHashTable pawns) {
+        int score = board.getPieceSquareScore() + pawns.evaluate(board);
+        return color == PieceColor.WHITE ? score : -score;
+    }
+}
@@ -0,0 +1,146 @@
+package pt.isec.pa.chess.model.search;
+
+import pt.isec.pa.chess.model.TranspositionTable;
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.pieces.PieceColor;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Pesquisa paralela Lazy SMP: N threads fazem aprofundamento iterativo sobre cópias
+ * independentes do tabuleiro e partilham apenas a tabela de transposição (sem locks).
+ * As threads auxiliares começam desfasadas (profundidade 1 ou 2) para não percorrerem
+ * a árvore em sincronia; o que encontram chega à thread principal através da tabela.
+ * O resultado é o da thread principal, salvo se uma auxiliar tiver completado uma profundidade maior.
+ * O limite de tempo aplica-se a cada thread e o de nós ao total de todas (contado num
+ * {@link LongAdder} partilhado); a principal termina as restantes.
+ */
+public class LazySmpSearch {
+    private final TranspositionTable table;
+    private final Search[] workers;
+    private final LongAdder sharedNodes = new LongAdder();
+
+    public LazySmpSearch() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public LazySmpSearch(int threads) {
+        this(threads, new TranspositionTable(64));
+    }
+
+    public LazySmpSearch(int threads, TranspositionTable table) {
+        if (threads < 1)
+            throw new IllegalArgumentException("Invalid thread count: " + threads);
+        if (table == null)
+            throw new IllegalArgumentException("Invalid transposition table");
+        this.table = table;
+        this.workers = new Search[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Search(table);
+            workers[i].setSharedNodes(sharedNodes);
+        }
+    }
+
+    public int getThreads() {
+        return workers.length;
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    // Iterações completas da thread principal, com os nós de todas as threads
+    public void setListener(Consumer<SearchResult> listener) {
+        workers[0].setListener(listener == null ? null : result -> listener.accept(withTotalNodes(result)));
+    }
+
+    public SearchResult search(ChessGame game, SearchLimits limits) {
+        return search(game.copyBoard(), game.getCurrentPlayer(), limits);
+    }
+
+    /**
+     * Pesquisa a posição com todas as threads até a thread principal esgotar o orçamento.
+     *
+     * @param board tabuleiro a pesquisar (não é alterado: cada thread usa uma cópia)
+     * @param sideToMove cor de quem joga
+     * @param limits orçamento da pesquisa
+     * @return melhor resultado completo entre as threads
+     */
+    public synchronized SearchResult search(Board board, PieceColor sideToMove, SearchLimits limits) {
+        if (board == null || sideToMove == null || limits == null)
+            throw new IllegalArgumentException("Invalid search arguments");
+
+        table.newSearch();
+        sharedNodes.reset();
+        Thread[] helpers = new Thread[workers.length - 1];
+        SearchResult[] results = new SearchResult[workers.length];
+
+        for (int i = 1; i < workers.length; i++) {
+            int id = i;
+            Board copy = board.copy();
+            workers[id].clearStop();
+            helpers[i - 1] = new Thread(
+                    () -> results[id] = workers[id].search(copy, sideToMove, limits, 1 + id % 2, true),
+                    "lazy-smp-" + id);
+            helpers[i - 1].setDaemon(true);
+            helpers[i - 1].start();
+        }
+
+        try {
+            results[0] = workers[0].search(board.copy(), sideToMove, limits, 1, false);
+        } finally {
+            for (int i = 1; i < workers.length; i++)
+                workers[i].stop();
+            for (Thread helper : helpers)
+                joinUninterruptibly(helper);
+        }
+
+        SearchResult best = results[0];
+        for (int i = 1; i < results.length; i++) {
+            if (results[i] != null && best != null && results[i].getDepth() > best.getDepth())
+                best = results[i];
+        }
+        return best == null ? null : withTotalNodes(best);
+    }
+
+    // Prepara a próxima pesquisa; chamar na thread que a lança, antes de arrancar a thread da pesquisa
+    public void clearStop() {
+        for (Search worker : workers)
+            worker.clearStop();
+    }
+
+    // Interrompe a pesquisa em curso (chamado de outra thread)
+    public void stop() {
+        for (Search worker : workers)
+            worker.stop();
+    }
+
+    // Nós de todas as threads na última pesquisa
+    public long getNodes() {
+        long total = 0;
+        for (Search worker : workers)
+            total += worker.getNodes();
+        return total;
+    }
+
+    private SearchResult withTotalNodes(SearchResult result) {
+        return new SearchResult(result.getBestMove(), result.getScore(), result.getDepth(),
+                getNodes(), result.getTimeMillis(), result.getPrincipalVariation());
+    }
+
+    private static void joinUninterruptibly(Thread thread) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                thread.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+    }
+}
@@ -0,0 +1,129 @@
+package pt.isec.pa.chess.model.search;
+
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.Move;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.Position;
+import pt.isec.pa.chess.model.data.pieces.Piece;
+import pt.isec.pa.chess.model.data.pieces.PieceColor;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+import java.util.Arrays;
+
+/**
+ * Ordenação de jogadas da pesquisa: primeiro a jogada da tabela de transposição, depois capturas
+ * e promoções por MVV-LVA, depois as duas jogadas "killer" do nível e por fim as jogadas calmas
+ * pela tabela de história (indexada por cor, origem e destino).
+ * As jogadas não são ordenadas de uma vez: {@link #nextBest} escolhe a melhor das que faltam,
+ * porque um corte beta costuma acontecer logo nas primeiras.
+ * Uma instância por thread de pesquisa.
+ */
+final class MoveOrdering {
+    private static final int TT_MOVE = 1_000_000;
+    private static final int CAPTURE = 500_000;
+    private static final int KILLER_1 = 400_000;
+    private static final int KILLER_2 = 399_000;
+    private static final int HISTORY_MAX = 100_000; // ao ultrapassar, a história é reduzida a metade
+
+    private final int[][] killers = new int[Search.MAX_PLY][2];
+    private final int[][][] history = new int[2][64][64];
+
+    // Início de uma pesquisa: esquece as killers e envelhece a história
+    void newSearch() {
+        for (int[] slots : killers) {
+            slots[0] = Move.NONE;
+            slots[1] = Move.NONE;
+        }
+        ageHistory();
+    }
+
+    void clear() {
+        newSearch();
+        for (int[][] byColor : history)
+            for (int[] byFrom : byColor)
+                Arrays.fill(byFrom, 0);
+    }
+
+    /**
+     * Atribui a cada jogada a sua prioridade.
+     *
+     * @param scores recebe as prioridades (pelo menos moves.size() posições)
+     */
+    void score(Board board, PieceColor color, MoveList moves, int ttMove, int ply, int[] scores) {
+        int[] slots = killers[ply];
+        int[][] table = history[color.ordinal()];
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if (move == ttMove)
+                scores[i] = TT_MOVE;
+            else if (Move.isCapture(move) || Move.isPromotion(move))
+                scores[i] = CAPTURE + mvvLva(board, move);
+            else if (move == slots[0])
+                scores[i] = KILLER_1;
+            else if (move == slots[1])
+                scores[i] = KILLER_2;
+            else
+                scores[i] = table[Move.from(move)][Move.to(move)];
+        }
+    }
+
+    // Jogada calma que provocou um corte beta
+    void onCutoff(PieceColor color, int move, int depth, int ply) {
+        if (Move.isCapture(move) || Move.isPromotion(move))
+            return;
+        int[] slots = killers[ply];
+        if (slots[0] != move) {
+            slots[1] = slots[0];
+            slots[0] = move;
+        }
+        int[] byFrom = history[color.ordinal()][Move.from(move)];
+        byFrom[Move.to(move)] += depth * depth;
+        if (byFrom[Move.to(move)] > HISTORY_MAX)
+            ageHistory();
+    }
+
+    private void ageHistory() {
+        for (int[][] byColor : history)
+            for (int[] byFrom : byColor)
+                for (int to = 0; to < 64; to++)
+                    byFrom[to] >>= 1;
+    }
+
+    // MVV-LVA: vítima mais valiosa primeiro, e entre essas o atacante menos valioso
+    static int mvvLva(Board board, int move) {
+        int victimValue = 0;
+        if (Move.isEnPassant(move)) {
+            victimValue = Evaluator.PIECE_VALUES[PieceType.PAWN.ordinal()];
+        } else {
+            Piece victim = board.getPieceAt(Position.of(Move.to(move)));
+            if (victim != null)
+                victimValue = Evaluator.PIECE_VALUES[victim.getPieceType().ordinal()];
+        }
+        Piece attacker = board.getPieceAt(Position.of(Move.from(move)));
+        PieceType promotion = Move.promotion(move);
+        return victimValue * 16 - Evaluator.PIECE_VALUES[attacker.getPieceType().ordinal()] / 100
+                + (promotion != null ? Evaluator.PIECE_VALUES[promotion.ordinal()] : 0);
+    }
+
+    /**
+     * Seleção parcial: troca para a posição from a jogada de maior prioridade entre as restantes.
+     *
+     * @return a jogada escolhida
+     */
+    static int nextBest(MoveList moves, int[] scores, int from) {
+        int best = from;
+        for (int i = from + 1; i < moves.size(); i++) {
+            if (scores[i] > scores[best])
+                best = i;
+        }
+        if (best != from) {
+            int move = moves.get(best);
+            moves.set(best, moves.get(from));
+            moves.set(from, move);
+            int score = scores[best];
+            scores[best] = scores[from];
+            scores[from] = score;
+        }
+        return moves.get(from);
+    }
+}
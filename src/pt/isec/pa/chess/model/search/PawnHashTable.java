@@ -0,0 +1,90 @@
+package pt.isec.pa.chess.model.search;
+
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.pieces.PieceColor;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+import java.util.Arrays;
+
+/**
+ * Cache de tamanho fixo (potência de 2) da avaliação da estrutura de peões, indexada pela
+ * chave de Zobrist dos peões ({@link Board#getPawnKey()}). Cada entrada guarda a pontuação
+ * das brancas e a das pretas. A estrutura de peões muda pouco entre posições da mesma
+ * pesquisa, por isso a maior parte das consultas são acertos.
+ * Não é thread-safe: cada thread de pesquisa usa a sua.
+ */
+public class PawnHashTable {
+    private static final int ENTRY_BYTES = Long.BYTES + Integer.BYTES;
+
+    private final long[] keys;
+    private final int[] scores; // brancas nos 16 bits baixos, pretas nos altos
+    private final int mask;
+    private long hits;
+    private long misses;
+
+    public PawnHashTable() {
+        this(256);
+    }
+
+    /**
+     * @param sizeKb memória máxima em KB (arredondada para baixo para uma potência de 2 entradas)
+     */
+    public PawnHashTable(int sizeKb) {
+        if (sizeKb < 1 || sizeKb > 1024 * 1024)
+            throw new IllegalArgumentException("Invalid size: " + sizeKb + " KB");
+        int entries = Integer.highestOneBit((int) Math.max(1, (long) sizeKb * 1024 / ENTRY_BYTES));
+        this.keys = new long[entries];
+        this.scores = new int[entries];
+        this.mask = entries - 1;
+        clear();
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Pontuação da estrutura de peões, calculada e guardada se ainda não estiver na tabela.
+     *
+     * @return pontuação em centipeões, positiva a favor das brancas
+     */
+    public int evaluate(Board board) {
+        long key = board.getPawnKey();
+        int i = (int) key & mask;
+        int packed;
+        if (keys[i] == key) {
+            hits++;
+            packed = scores[i];
+        } else {
+            misses++;
+            long white = board.getBitboard(PieceColor.WHITE, PieceType.PAWN);
+            long black = board.getBitboard(PieceColor.BLACK, PieceType.PAWN);
+            packed = (PawnStructure.evaluate(PieceColor.WHITE, white, black) & 0xFFFF)
+                    | (PawnStructure.evaluate(PieceColor.BLACK, black, white) << 16);
+            keys[i] = key;
+            scores[i] = packed;
+        }
+        return (short) packed - (packed >> 16);
+    }
+
+    public void clear() {
+        // -1 em vez de 0, que é a chave (muito frequente) de uma posição sem peões
+        Arrays.fill(keys, -1L);
+        hits = 0;
+        misses = 0;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    // Percentagem de consultas respondidas pela tabela
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : 100.0 * hits / total;
+    }
+}
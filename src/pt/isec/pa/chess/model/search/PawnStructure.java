@@ -0,0 +1,94 @@
+package pt.isec.pa.chess.model.search;
+
+import pt.isec.pa.chess.model.data.pieces.PieceColor;
+
+/**
+ * Avaliação da estrutura de peões de uma cor: peões dobrados, isolados, atrasados e passados.
+ * Depende apenas das máscaras de peões, por isso o resultado pode ser guardado numa
+ * {@link PawnHashTable} indexada pela chave de Zobrist dos peões.
+ */
+public final class PawnStructure {
+    public static final int DOUBLED = -12;  // por peão a mais na mesma coluna
+    public static final int ISOLATED = -15; // sem peões amigos nas colunas vizinhas
+    public static final int BACKWARD = -8;  // não pode ser apoiado e a casa da frente é atacada por um peão
+    // Peão passado, pela linha do ponto de vista de quem o tem (1 a 8)
+    public static final int[] PASSED = {0, 0, 5, 10, 20, 35, 60, 100, 0};
+
+    private static final long FILE_A = 0x0101010101010101L;
+    private static final long[] FILES = new long[8];
+    private static final long[] ADJACENT_FILES = new long[8];
+    private static final long[][] PASSED_MASK = new long[2][64];  // casas à frente na coluna e nas vizinhas
+    private static final long[][] SUPPORT_MASK = new long[2][64]; // casas vizinhas na mesma linha ou atrás
+
+    static {
+        for (int file = 0; file < 8; file++) {
+            FILES[file] = FILE_A << file;
+            ADJACENT_FILES[file] = (file > 0 ? FILE_A << (file - 1) : 0) | (file < 7 ? FILE_A << (file + 1) : 0);
+        }
+        for (int sq = 0; sq < 64; sq++) {
+            int file = sq & 7;
+            int rank = sq >>> 3;
+            long span = FILES[file] | ADJACENT_FILES[file];
+            for (int r = 0; r < 8; r++) {
+                long row = 0xFFL << (r * 8);
+                if (r > rank) {
+                    PASSED_MASK[PieceColor.WHITE.ordinal()][sq] |= span & row;
+                    SUPPORT_MASK[PieceColor.BLACK.ordinal()][sq] |= ADJACENT_FILES[file] & row;
+                } else if (r < rank) {
+                    PASSED_MASK[PieceColor.BLACK.ordinal()][sq] |= span & row;
+                    SUPPORT_MASK[PieceColor.WHITE.ordinal()][sq] |= ADJACENT_FILES[file] & row;
+                } else {
+                    SUPPORT_MASK[PieceColor.WHITE.ordinal()][sq] |= ADJACENT_FILES[file] & row;
+                    SUPPORT_MASK[PieceColor.BLACK.ordinal()][sq] |= ADJACENT_FILES[file] & row;
+                }
+            }
+        }
+    }
+
+    private PawnStructure() {} // Impede instância
+
+    /**
+     * @param pawns peões da cor avaliada
+     * @param enemyPawns peões adversários
+     * @return pontuação em centipeões, positiva a favor da cor avaliada
+     */
+    public static int evaluate(PieceColor color, long pawns, long enemyPawns) {
+        boolean white = color == PieceColor.WHITE;
+        int score = 0;
+
+        for (int file = 0; file < 8; file++) {
+            int count = Long.bitCount(pawns & FILES[file]);
+            if (count > 1)
+                score += DOUBLED * (count - 1);
+        }
+
+        for (long bits = pawns; bits != 0; bits &= bits - 1) {
+            int sq = Long.numberOfTrailingZeros(bits);
+            int file = sq & 7;
+            int relativeRank = white ? (sq >>> 3) + 1 : 8 - (sq >>> 3);
+
+            if ((pawns & ADJACENT_FILES[file]) == 0) {
+                score += ISOLATED;
+            } else if ((pawns & SUPPORT_MASK[color.ordinal()][sq]) == 0) {
+                int stop = white ? sq + 8 : sq - 8;
+                if (stop >= 0 && stop < 64 && (pawnAttacks(color.opposite(), enemyPawns) & (1L << stop)) != 0)
+                    score += BACKWARD;
+            }
+
+            // Passado: nenhum peão adversário à frente na coluna ou nas vizinhas;
+            // o peão de trás de um par dobrado não conta
+            if ((enemyPawns & PASSED_MASK[color.ordinal()][sq]) == 0
+                    && (pawns & FILES[file] & PASSED_MASK[color.ordinal()][sq]) == 0)
+                score += PASSED[relativeRank];
+        }
+        return score;
+    }
+
+    private static long pawnAttacks(PieceColor color, long pawns) {
+        long notFileA = ~FILES[0];
+        long notFileH = ~FILES[7];
+        if (color == PieceColor.WHITE)
+            return ((pawns & notFileA) << 7) | ((pawns & notFileH) << 9);
+        return ((pawns & notFileA) >>> 9) | ((pawns & notFileH) >>> 7);
+    }
+}
@@ -0,0 +1,133 @@
+package pt.isec.pa.chess.model.search;
+
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.Move;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.Position;
+import pt.isec.pa.chess.model.data.UndoInfo;
+import pt.isec.pa.chess.model.data.pieces.PieceColor;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Pesquisa de quiescência: nas folhas da pesquisa principal continua só com capturas e
+ * promoções a rainha até a posição ficar calma, evitando o efeito de horizonte.
+ * As capturas com troca perdedora (SEE &lt; 0) são cortadas; em xeque são pesquisadas
+ * todas as respostas, para detetar mates.
+ * Cada nó é contado também na pesquisa que a usa, que pode mandá-la parar (limites de
+ * tempo e de nós, pedido de paragem). Uma instância por thread de pesquisa.
+ */
+final class Quiescence {
+    private final MoveList[] moveLists = new MoveList[Search.MAX_PLY];
+    private final UndoInfo[] undos = new UndoInfo[Search.MAX_PLY];
+    private final int[][] scores = new int[Search.MAX_PLY][]; // pontuação de ordenação por nível
+    private final PawnHashTable pawns;
+    private final BooleanSupplier countNode; // conta o nó na pesquisa principal; true = abortar
+    private long nodes;
+    private boolean aborted;
+
+    Quiescence(PawnHashTable pawns) {
+        this(pawns, () -> false);
+    }
+
+    Quiescence(PawnHashTable pawns, BooleanSupplier countNode) {
+        this.pawns = pawns;
+        this.countNode = countNode;
+        for (int i = 0; i < Search.MAX_PLY; i++) {
+            moveLists[i] = new MoveList();
+            undos[i] = new UndoInfo();
+            scores[i] = new int[256];
+        }
+    }
+
+    long getNodes() {
+        return nodes;
+    }
+
+    // No início de cada pesquisa
+    void resetNodes() {
+        nodes = 0;
+        aborted = false;
+    }
+
+    /**
+     * @param ply distância à raiz (para as pontuações de mate e para indexar as listas)
+     * @return pontuação do ponto de vista de color (sem significado se a pesquisa foi abortada)
+     */
+    int search(Board board, PieceColor color, int alpha, int beta, int ply) {
+        nodes++;
+        if (countNode.getAsBoolean()) {
+            aborted = true;
+            return 0;
+        }
+        if (ply >= Search.MAX_PLY - 1)
+            return Evaluator.evaluate(board, color, pawns);
+
+        boolean inCheck = isInCheck(board, color);
+        int bestScore = -Search.INFINITY;
+        if (!inCheck) {
+            bestScore = Evaluator.evaluate(board, color, pawns); // "stand pat": quem joga pode não capturar
+            if (bestScore >= beta)
+                return bestScore;
+            if (bestScore > alpha)
+                alpha = bestScore;
+        }
+
+        MoveList moves = moveLists[ply];
+        moves.clear();
+        if (inCheck)
+            board.generateMoves(color, moves);
+        else
+            board.generateCaptures(color, moves);
+        scoreCaptures(board, moves, ply);
+
+        int legalMoves = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = MoveOrdering.nextBest(moves, scores[ply], i);
+            if (!inCheck) {
+                PieceType promotion = Move.promotion(move);
+                if (promotion != null && promotion != PieceType.QUEEN)
+                    continue;
+                if (StaticExchange.evaluate(board, move) < 0)
+                    continue;
+            }
+
+            board.makeMove(move, undos[ply]);
+            if (isInCheck(board, color)) {
+                board.unmakeMove(undos[ply]);
+                continue;
+            }
+            legalMoves++;
+            int score = -search(board, color.opposite(), -beta, -alpha, ply + 1);
+            board.unmakeMove(undos[ply]);
+            if (aborted)
+                return 0;
+
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta)
+                        break;
+                }
+            }
+        }
+
+        if (inCheck && legalMoves == 0)
+            return -Search.MATE + ply;
+        return bestScore;
+    }
+
+    private void scoreCaptures(Board board, MoveList moves, int ply) {
+        if (scores[ply].length < moves.size())
+            scores[ply] = new int[moves.size()];
+        for (int i = 0; i < moves.size(); i++)
+            scores[ply][i] = MoveOrdering.mvvLva(board, moves.get(i));
+    }
+
+    private static boolean isInCheck(Board board, PieceColor color) {
+        Position king = board.findKingPosition(color);
+        return king != null && board.isPositionUnderAttack(king, color.opposite());
+    }
+}
@@ -0,0 +1,371 @@
+package pt.isec.pa.chess.model.search;
+
+import pt.isec.pa.chess.model.TranspositionTable;
+import pt.isec.pa.chess.model.TranspositionTable.Bound;
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.Move;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.Position;
+import pt.isec.pa.chess.model.data.UndoInfo;
+import pt.isec.pa.chess.model.data.pieces.PieceColor;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Pesquisa negamax com cortes alfa-beta e aprofundamento iterativo.
+ * Trabalha sobre uma cópia do tabuleiro com as jogadas codificadas em int
+ * (geração pseudo-legal + makeMove/unmakeMove), sem criar objetos por nó.
+ * As técnicas seletivas (jogada nula, reduções, futilidade, janelas de aspiração)
+ * são escolhidas por {@link SearchConfig}.
+ * Uma instância não é thread-safe: cada thread de pesquisa usa a sua.
+ */
+public class Search {
+    public static final int INFINITY = 30000;
+    public static final int MATE = 29000;     // mate em n meias-jogadas vale MATE - n
+    public static final int MAX_PLY = 128;
+
+    private static final int CHECK_INTERVAL = 256; // nós entre verificações do orçamento (e do pedido de paragem)
+    private static final int ASPIRATION_WINDOW = 50;
+    private static final int[] FUTILITY_MARGIN = {0, 200, 450}; // por profundidade restante
+
+    private final TranspositionTable table;
+    private final SearchConfig config;
+    private final MoveList[] moveLists = new MoveList[MAX_PLY];
+    private final UndoInfo[] undos = new UndoInfo[MAX_PLY];
+    private final int[][] pv = new int[MAX_PLY][MAX_PLY]; // pv[ply] = melhor continuação a partir de ply
+    private final int[] pvLength = new int[MAX_PLY];
+    private final long[] pathKeys = new long[MAX_PLY];    // chaves das posições no caminho atual (repetições)
+    private final int[][] moveScores = new int[MAX_PLY][256]; // prioridades de ordenação por nível
+    private final PawnHashTable pawns = new PawnHashTable();
+    private final Quiescence quiescence = new Quiescence(pawns, this::countNode);
+    private final MoveOrdering ordering = new MoveOrdering();
+
+    private Board board;
+    private long nodes;
+    private long checkCounter; // nós da pesquisa principal e da quiescência, para as verificações
+    private long maxNodes;
+    private LongAdder sharedNodes; // nós de todas as threads de um LazySmpSearch (null = só esta)
+    private long deadline;
+    private boolean canAbort;
+    private boolean aborted;
+    private volatile boolean stopRequested;
+    private Consumer<SearchResult> listener;
+
+    public Search() {
+        this(new TranspositionTable(16));
+    }
+
+    public Search(TranspositionTable table) {
+        this(table, SearchConfig.all());
+    }
+
+    public Search(TranspositionTable table, SearchConfig config) {
+        if (table == null)
+            throw new IllegalArgumentException("Invalid transposition table");
+        if (config == null)
+            throw new IllegalArgumentException("Invalid search configuration");
+        this.table = table;
+        this.config = config;
+        for (int i = 0; i < MAX_PLY; i++) {
+            moveLists[i] = new MoveList();
+            undos[i] = new UndoInfo();
+        }
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    public SearchConfig getConfig() {
+        return config;
+    }
+
+    public PawnHashTable getPawnTable() {
+        return pawns;
+    }
+
+    // Recebe o resultado de cada iteração completa (ex: linhas "info" do UCI), na thread da pesquisa
+    public void setListener(Consumer<SearchResult> listener) {
+        this.listener = listener;
+    }
+
+    public SearchResult search(ChessGame game, SearchLimits limits) {
+        return search(game.copyBoard(), game.getCurrentPlayer(), limits);
+    }
+
+    /**
+     * Pesquisa a posição até esgotar o orçamento.
+     * A profundidade 1 é sempre completada, para haver sempre uma jogada.
+     *
+     * @param board tabuleiro a pesquisar (é alterado durante a pesquisa e reposto no fim)
+     * @param sideToMove cor de quem joga
+     * @param limits orçamento da pesquisa
+     * @return resultado da última iteração completa
+     */
+    public SearchResult search(Board board, PieceColor sideToMove, SearchLimits limits) {
+        return search(board, sideToMove, limits, 1, false);
+    }
+
+    // Ponto de entrada comum; as threads auxiliares do LazySmpSearch começam noutra profundidade
+    // e podem ser interrompidas a qualquer momento (não precisam de devolver uma jogada)
+    SearchResult search(Board board, PieceColor sideToMove, SearchLimits limits, int startDepth, boolean helper) {
+        if (board == null || sideToMove == null || limits == null)
+            throw new IllegalArgumentException("Invalid search arguments");
+
+        long start = System.nanoTime();
+        this.board = board;
+        this.nodes = 0;
+        quiescence.resetNodes();
+        this.maxNodes = limits.getMaxNodes();
+        this.deadline = limits.getTimeMillis() > 0 ? start + limits.getTimeMillis() * 1_000_000L : 0;
+        this.canAbort = helper;
+        this.aborted = false;
+        if (!helper)
+            table.newSearch();
+        ordering.newSearch();
+
+        SearchResult result = null;
+        for (int depth = Math.min(startDepth, limits.getMaxDepth()); depth <= limits.getMaxDepth(); depth++) {
+            int score = result != null && depth >= 4 && config.isEnabled(SearchConfig.Feature.ASPIRATION)
+                    ? aspiration(sideToMove, depth, result.getScore())
+                    : negamax(sideToMove, depth, -INFINITY, INFINITY, 0, false);
+            if (aborted)
+                break;
+
+            int bestMove = pvLength[0] > 0 ? pv[0][0] : Move.NONE;
+            long elapsed = (System.nanoTime() - start) / 1_000_000L;
+            result = new SearchResult(bestMove, score, depth, getNodes(), elapsed, Arrays.copyOf(pv[0], pvLength[0]));
+            canAbort = true;
+            if (!helper && listener != null)
+                listener.accept(result);
+
+            // Sem jogadas, ou mate já encontrado dentro da profundidade pesquisada
+            if (bestMove == Move.NONE || (result.isMate() && Math.abs(result.getMatePlies()) <= depth))
+                break;
+            if (!helper && limits.getTimeManager() != null && limits.getTimeManager().shouldStop(result, elapsed))
+                break;
+        }
+        this.board = null;
+        return result;
+    }
+
+    // Janela estreita à volta da pontuação anterior, alargada enquanto o resultado cair fora dela
+    private int aspiration(PieceColor color, int depth, int previous) {
+        int delta = ASPIRATION_WINDOW;
+        int alpha = Math.max(previous - delta, -INFINITY);
+        int beta = Math.min(previous + delta, INFINITY);
+        while (true) {
+            int score = negamax(color, depth, alpha, beta, 0, false);
+            if (aborted || (score > alpha && score < beta))
+                return score;
+            delta *= 2;
+            if (score <= alpha)
+                alpha = delta > MATE / 4 ? -INFINITY : Math.max(score - delta, -INFINITY);
+            else
+                beta = delta > MATE / 4 ? INFINITY : Math.min(score + delta, INFINITY);
+        }
+    }
+
+    // Pede a uma pesquisa a decorrer noutra thread que termine o mais cedo possível
+    public void stop() {
+        stopRequested = true;
+    }
+
+    // Limpa um pedido de paragem anterior; chamar antes de arrancar a thread da pesquisa,
+    // senão um "stop" que chegue entretanto perde-se
+    public void clearStop() {
+        stopRequested = false;
+    }
+
+    // O limite de nós passa a aplicar-se ao total deste contador, partilhado entre threads
+    void setSharedNodes(LongAdder sharedNodes) {
+        this.sharedNodes = sharedNodes;
+    }
+
+    // Nós da pesquisa principal e da quiescência
+    public long getNodes() {
+        return nodes + quiescence.getNodes();
+    }
+
+    // afterNull: o nó anterior foi uma jogada nula (não se fazem duas seguidas)
+    private int negamax(PieceColor color, int depth, int alpha, int beta, int ply, boolean afterNull) {
+        pvLength[ply] = ply;
+        nodes++;
+        if (countNode())
+            return 0;
+
+        long key = board.getZobristKey(color);
+        if (ply > 0 && isRepetition(key, ply))
+            return 0;
+        pathKeys[ply] = key;
+
+        if (ply == MAX_PLY - 1)
+            return Evaluator.evaluate(board, color, pawns);
+        if (depth == 0)
+            return quiescence.search(board, color, alpha, beta, ply);
+
+        int ttMove = Move.NONE;
+        long entry = table.probe(key);
+        if (entry != TranspositionTable.NONE) {
+            ttMove = TranspositionTable.move(entry);
+            if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                int score = scoreFromTable(TranspositionTable.score(entry), ply);
+                Bound bound = TranspositionTable.bound(entry);
+                if (bound == Bound.EXACT
+                        || (bound == Bound.LOWER && score >= beta)
+                        || (bound == Bound.UPPER && score <= alpha))
+                    return score;
+            }
+        }
+
+        boolean inCheck = isInCheck(color);
+        boolean mateScores = Math.abs(alpha) >= MATE - MAX_PLY || Math.abs(beta) >= MATE - MAX_PLY;
+        int staticEval = inCheck || ply == 0 ? -INFINITY : Evaluator.evaluate(board, color, pawns);
+
+        // Jogada nula: se mesmo passando a vez a posição chega a beta, uma jogada a sério também chega.
+        // Não se usa em xeque nem só com peões (zugzwang), nem depois de outra jogada nula
+        if (config.isEnabled(SearchConfig.Feature.NULL_MOVE) && !afterNull && !inCheck && depth >= 3
+                && staticEval >= beta && !mateScores && board.hasNonPawnMaterial(color)) {
+            int reduction = depth > 6 ? 3 : 2;
+            board.makeNullMove(undos[ply]);
+            int score = -negamax(color.opposite(), depth - 1 - reduction, -beta, -beta + 1, ply + 1, true);
+            board.unmakeNullMove(undos[ply]);
+            if (aborted)
+                return 0;
+            if (score >= beta)
+                return score >= MATE - MAX_PLY ? beta : score; // um mate depois de passar a vez não é real
+        }
+
+        // Futilidade: nem com uma margem generosa a avaliação chega a alfa, por isso só as capturas,
+        // promoções e xeques podem mudar o resultado
+        int futilityScore = -INFINITY;
+        if (config.isEnabled(SearchConfig.Feature.FUTILITY) && ply > 0 && depth < FUTILITY_MARGIN.length && !inCheck && !mateScores
+                && staticEval + FUTILITY_MARGIN[depth] <= alpha)
+            futilityScore = staticEval + FUTILITY_MARGIN[depth];
+
+        MoveList moves = moveLists[ply];
+        moves.clear();
+        board.generateMoves(color, moves);
+        if (moveScores[ply].length < moves.size())
+            moveScores[ply] = new int[moves.size()];
+        ordering.score(board, color, moves, ttMove, ply, moveScores[ply]);
+
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = Move.NONE;
+        int legalMoves = 0;
+
+        for (int i = 0; i < moves.size(); i++) {
+            int move = MoveOrdering.nextBest(moves, moveScores[ply], i);
+            board.makeMove(move, undos[ply]);
+            if (isInCheck(color)) {
+                board.unmakeMove(undos[ply]);
+                continue;
+            }
+            legalMoves++;
+            boolean quiet = !Move.isCapture(move) && !Move.isPromotion(move);
+            boolean futile = quiet && futilityScore > -INFINITY && legalMoves > 1;
+            boolean reduce = quiet && !inCheck && depth >= 3 && legalMoves > 3
+                    && config.isEnabled(SearchConfig.Feature.LATE_MOVE_REDUCTIONS);
+            if ((futile || reduce) && isInCheck(color.opposite())) // os xeques são sempre pesquisados
+                futile = reduce = false;
+
+            if (futile) {
+                board.unmakeMove(undos[ply]);
+                bestScore = Math.max(bestScore, futilityScore);
+                continue;
+            }
+
+            int score;
+            // Reduções: as jogadas calmas que a ordenação deixou para o fim raramente são as melhores;
+            // são pesquisadas com menos profundidade e janela nula, e só repetidas se passarem alfa
+            if (reduce) {
+                int reduction = Math.min(legalMoves > 10 ? 2 : 1, depth - 2);
+                score = -negamax(color.opposite(), depth - 1 - reduction, -alpha - 1, -alpha, ply + 1, false);
+                if (score > alpha && !aborted)
+                    score = -negamax(color.opposite(), depth - 1, -beta, -alpha, ply + 1, false);
+            } else {
+                score = -negamax(color.opposite(), depth - 1, -beta, -alpha, ply + 1, false);
+            }
+            board.unmakeMove(undos[ply]);
+            if (aborted)
+                return 0;
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, move);
+                    if (alpha >= beta) {
+                        ordering.onCutoff(color, move, depth, ply);
+                        break;
+                    }
+                }
+            }
+        }
+
+        if (legalMoves == 0)
+            return inCheck ? -MATE + ply : 0;
+
+        Bound bound = bestScore <= originalAlpha ? Bound.UPPER : bestScore >= beta ? Bound.LOWER : Bound.EXACT;
+        table.store(key, Math.min(depth, TranspositionTable.MAX_DEPTH), scoreToTable(bestScore, ply), bound, bestMove);
+        return bestScore;
+    }
+
+    private void updatePv(int ply, int move) {
+        pv[ply][ply] = move;
+        int childLength = pvLength[ply + 1];
+        System.arraycopy(pv[ply + 1], ply + 1, pv[ply], ply + 1, childLength - ply - 1);
+        pvLength[ply] = Math.max(childLength, ply + 1);
+    }
+
+    private boolean isInCheck(PieceColor color) {
+        Position king = board.findKingPosition(color);
+        return king != null && board.isPositionUnderAttack(king, color.opposite());
+    }
+
+    // Repetição de uma posição do caminho atual com o mesmo jogador a jogar
+    private boolean isRepetition(long key, int ply) {
+        for (int i = ply - 2; i >= 0; i -= 2) {
+            if (pathKeys[i] == key)
+                return true;
+        }
+        return false;
+    }
+
+    // Chamado em cada nó (também pela quiescência); verifica os limites a cada CHECK_INTERVAL nós
+    private boolean countNode() {
+        if ((++checkCounter & (CHECK_INTERVAL - 1)) == 0) {
+            if (sharedNodes != null)
+                sharedNodes.add(CHECK_INTERVAL);
+            checkLimits();
+        }
+        return aborted;
+    }
+
+    private void checkLimits() {
+        if (!canAbort)
+            return;
+        if (stopRequested
+                || (maxNodes > 0 && (sharedNodes != null ? sharedNodes.sum() : getNodes()) >= maxNodes)
+                || (deadline > 0 && System.nanoTime() >= deadline))
+            aborted = true;
+    }
+
+    // Os mates são guardados relativos ao nó (e não à raiz) para serem válidos noutras profundidades
+    private static int scoreToTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) return score + ply;
+        if (score <= -MATE + MAX_PLY) return score - ply;
+        return score;
+    }
+
+    private static int scoreFromTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) return score - ply;
+        if (score <= -MATE + MAX_PLY) return score + ply;
+        return score;
+    }
+}
@@ -0,0 +1,68 @@
+package pt.isec.pa.chess.model.search;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Técnicas seletivas ativas na pesquisa. Todas reduzem o número de nós sem alterar
+ * (em princípio) a jogada escolhida; poder desligá-las permite medir o ganho de cada uma.
+ * Imutável: with/without devolvem uma nova configuração.
+ */
+public class SearchConfig {
+
+    public enum Feature {
+        NULL_MOVE,            // jogada nula: se passar a vez ainda chega a beta, corta o nó
+        LATE_MOVE_REDUCTIONS, // jogadas calmas mal ordenadas pesquisadas com menos profundidade
+        FUTILITY,             // perto das folhas ignora jogadas calmas que não podem chegar a alfa
+        ASPIRATION            // janela estreita à volta da pontuação da iteração anterior
+    }
+
+    private final Set<Feature> features;
+
+    private SearchConfig(Set<Feature> features) {
+        this.features = features;
+    }
+
+    public static SearchConfig all() {
+        return new SearchConfig(EnumSet.allOf(Feature.class));
+    }
+
+    // Alfa-beta simples, apenas com ordenação de jogadas e quiescência
+    public static SearchConfig none() {
+        return new SearchConfig(EnumSet.noneOf(Feature.class));
+    }
+
+    public static SearchConfig of(Feature... features) {
+        SearchConfig config = none();
+        for (Feature feature : features)
+            config = config.with(feature);
+        return config;
+    }
+
+    public SearchConfig with(Feature feature) {
+        if (feature == null)
+            throw new IllegalArgumentException("Invalid feature");
+        EnumSet<Feature> copy = EnumSet.noneOf(Feature.class);
+        copy.addAll(features);
+        copy.add(feature);
+        return new SearchConfig(copy);
+    }
+
+    public SearchConfig without(Feature feature) {
+        if (feature == null)
+            throw new IllegalArgumentException("Invalid feature");
+        EnumSet<Feature> copy = EnumSet.noneOf(Feature.class);
+        copy.addAll(features);
+        copy.remove(feature);
+        return new SearchConfig(copy);
+    }
+
+    public boolean isEnabled(Feature feature) {
+        return features.contains(feature);
+    }
+
+    @Override
+    public String toString() {
+        return features.toString();
+    }
+}
@@ -0,0 +1,69 @@
+package pt.isec.pa.chess.model.search;
+
+/**
+ * Orçamento de uma pesquisa: profundidade máxima, tempo e número de nós.
+ * Um limite a 0 significa "sem limite"; a pesquisa termina no primeiro que for atingido.
+ * Num jogo com relógio o tempo é gerido por um {@link TimeManager}.
+ */
+public class SearchLimits {
+    public static final int MAX_DEPTH = 64;
+
+    private final int maxDepth;
+    private final long timeMillis;
+    private final long maxNodes;
+    private final TimeManager timeManager; // null sem relógio
+
+    public SearchLimits(int maxDepth, long timeMillis, long maxNodes) {
+        this(maxDepth, timeMillis, maxNodes, null);
+    }
+
+    private SearchLimits(int maxDepth, long timeMillis, long maxNodes, TimeManager timeManager) {
+        if (maxDepth < 1 || maxDepth > MAX_DEPTH)
+            throw new IllegalArgumentException("Invalid depth: " + maxDepth);
+        if (timeMillis < 0 || maxNodes < 0)
+            throw new IllegalArgumentException("Invalid search limits");
+        this.maxDepth = maxDepth;
+        this.timeMillis = timeMillis;
+        this.maxNodes = maxNodes;
+        this.timeManager = timeManager;
+    }
+
+    public static SearchLimits depth(int depth) {
+        return new SearchLimits(depth, 0, 0);
+    }
+
+    public static SearchLimits time(long millis) {
+        if (millis < 1)
+            throw new IllegalArgumentException("Invalid time: " + millis);
+        return new SearchLimits(MAX_DEPTH, millis, 0);
+    }
+
+    public static SearchLimits nodes(long nodes) {
+        if (nodes < 1)
+            throw new IllegalArgumentException("Invalid node count: " + nodes);
+        return new SearchLimits(MAX_DEPTH, 0, nodes);
+    }
+
+    // Tempo da jogada decidido pelo gestor: o limite rígido interrompe a pesquisa, o suave é verificado entre iterações
+    public static SearchLimits clock(TimeManager timeManager) {
+        if (timeManager == null)
+            throw new IllegalArgumentException("Invalid time manager");
+        return new SearchLimits(MAX_DEPTH, timeManager.getHardLimit(), 0, timeManager);
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    public long getMaxNodes() {
+        return maxNodes;
+    }
+
+    public TimeManager getTimeManager() {
+        return timeManager;
+    }
+}
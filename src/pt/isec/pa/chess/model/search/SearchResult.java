@@ -0,0 +1,75 @@
+package pt.isec.pa.chess.model.search;
+
+import pt.isec.pa.chess.model.data.Move;
+
+import java.util.Arrays;
+
+/**
+ * Resultado da última iteração completa de uma pesquisa.
+ * A pontuação é do ponto de vista de quem joga, em centipeões (ou mate, ver {@link #isMate()}).
+ */
+public class SearchResult {
+    private final int bestMove;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long timeMillis;
+    private final int[] principalVariation;
+
+    public SearchResult(int bestMove, int score, int depth, long nodes, long timeMillis, int[] principalVariation) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.timeMillis = timeMillis;
+        this.principalVariation = principalVariation.clone();
+    }
+
+    // Move.NONE se não houver jogadas legais
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    public int[] getPrincipalVariation() {
+        return principalVariation.clone();
+    }
+
+    public boolean isMate() {
+        return Math.abs(score) >= Search.MATE - Search.MAX_PLY;
+    }
+
+    // Meias-jogadas até ao mate (positivo se quem joga dá mate)
+    public int getMatePlies() {
+        if (!isMate())
+            throw new IllegalStateException("Not a mate score");
+        return score > 0 ? Search.MATE - score : -(Search.MATE + score);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("depth ").append(depth)
+                .append(isMate() ? " mate " + getMatePlies() : " score " + score)
+                .append(" nodes ").append(nodes)
+                .append(" time ").append(timeMillis)
+                .append(" pv");
+        Arrays.stream(principalVariation).forEach(move -> sb.append(' ').append(Move.toString(move)));
+        return sb.toString();
+    }
+}
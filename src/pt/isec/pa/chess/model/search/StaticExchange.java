@@ -0,0 +1,100 @@
+package pt.isec.pa.chess.model.search;
+
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.Move;
+import pt.isec.pa.chess.model.data.Position;
+import pt.isec.pa.chess.model.data.pieces.Piece;
+import pt.isec.pa.chess.model.data.pieces.PieceColor;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+/**
+ * Avaliação estática de trocas (SEE): ganho material de uma captura supondo que ambos os lados
+ * continuam a recapturar na mesma casa, sempre com a peça de menor valor, e podem parar quando
+ * a troca deixar de compensar. Os atacantes em raio-X atrás das peças que saem são incluídos.
+ */
+public final class StaticExchange {
+    private static final int KING_VALUE = 20000;
+
+    // Ordem de recaptura: da peça de menor para a de maior valor
+    private static final PieceType[] RECAPTURE_ORDER = {
+            PieceType.PAWN, PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN, PieceType.KING
+    };
+
+    private StaticExchange() {} // Impede instância
+
+    /**
+     * @param board tabuleiro antes da jogada
+     * @param move captura ou promoção pseudo-legal
+     * @return saldo material da troca em centipeões, do ponto de vista de quem joga
+     */
+    public static int evaluate(Board board, int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        Piece mover = board.getPieceAt(Position.of(from));
+        if (mover == null)
+            throw new IllegalArgumentException("No piece at " + Position.of(from));
+
+        int[] gain = new int[32];
+        long occupied = board.getOccupancy() & ~(1L << from);
+        PieceType promotion = Move.promotion(move);
+
+        if (Move.isEnPassant(move)) {
+            gain[0] = value(PieceType.PAWN);
+            occupied &= ~(1L << (to + (mover.getColor() == PieceColor.WHITE ? -8 : 8)));
+        } else {
+            Piece captured = board.getPieceAt(Position.of(to));
+            gain[0] = captured == null ? 0 : value(captured.getPieceType());
+        }
+        int onSquare = value(mover.getPieceType()); // valor da peça que fica na casa, sujeita a recaptura
+        if (promotion != null) {
+            gain[0] += value(promotion) - value(PieceType.PAWN);
+            onSquare = value(promotion);
+        }
+
+        PieceColor side = mover.getColor().opposite();
+        long attackers = board.getAttackersTo(to, occupied) & occupied;
+        int depth = 0;
+
+        while (true) {
+            long own = attackers & board.getOccupancy(side);
+            if (own == 0)
+                break;
+
+            PieceType type = null;
+            long bit = 0;
+            for (PieceType candidate : RECAPTURE_ORDER) {
+                long candidates = own & board.getBitboard(side, candidate);
+                if (candidates != 0) {
+                    type = candidate;
+                    bit = candidates & -candidates;
+                    break;
+                }
+            }
+            // O rei só recaptura se a casa já não estiver defendida
+            if (type == PieceType.KING && (attackers & board.getOccupancy(side.opposite())) != 0)
+                break;
+
+            depth++;
+            gain[depth] = onSquare - gain[depth - 1];
+            if (Math.max(-gain[depth - 1], gain[depth]) < 0) {
+                depth--; // a troca já não muda de sinal: não vale a pena continuar
+                break;
+            }
+
+            occupied &= ~bit;
+            attackers = board.getAttackersTo(to, occupied) & occupied; // revela raios-X
+            onSquare = value(type);
+            side = side.opposite();
+        }
+
+        while (depth > 0) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+            depth--;
+        }
+        return gain[0];
+    }
+
+    private static int value(PieceType type) {
+        return type == PieceType.KING ? KING_VALUE : Evaluator.PIECE_VALUES[type.ordinal()];
+    }
+}
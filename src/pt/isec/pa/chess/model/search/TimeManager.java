@@ -0,0 +1,96 @@
+package pt.isec.pa.chess.model.search;
+
+/**
+ * Gestão do tempo de uma jogada num jogo com relógio.
+ * A partir do tempo restante, do incremento e das jogadas até ao próximo controlo calcula:
+ * <ul>
+ *   <li>limite suave: tempo normal da jogada, verificado entre iterações;</li>
+ *   <li>limite rígido: a pesquisa é interrompida a meio se o atingir.</li>
+ * </ul>
+ * Entre iterações o limite suave é ajustado: aumenta quando a melhor jogada muda ou a
+ * pontuação cai, e diminui quando a mesma jogada se mantém em várias iterações seguidas.
+ * Uma instância por jogada (guarda o histórico das iterações).
+ */
+public class TimeManager {
+    public static final long DEFAULT_OVERHEAD = 50; // margem para comunicação e atrasos, em ms
+
+    private static final int SUDDEN_DEATH_MOVES = 30; // jogadas estimadas quando não há controlo
+    private static final int MAX_MOVES_TO_GO = 50;
+    private static final double HARD_FRACTION = 0.8;  // nunca gastar mais que esta fração do relógio
+    private static final double HARD_FACTOR = 4.0;    // limite rígido em múltiplos do suave
+    private static final double NEXT_ITERATION = 0.6; // a próxima iteração demora mais do que as anteriores juntas
+    private static final int STABLE_ITERATIONS = 4;
+    private static final int SCORE_DROP = 30;
+
+    private final long softLimit;
+    private final long hardLimit;
+
+    private int lastBestMove;
+    private int lastScore;
+    private int stableIterations;
+    private volatile double scale = 1.0; // lido pela interface enquanto a pesquisa corre
+    private boolean first = true;
+
+    public TimeManager(long remainingMillis, long incrementMillis, int movesToGo) {
+        this(remainingMillis, incrementMillis, movesToGo, DEFAULT_OVERHEAD);
+    }
+
+    /**
+     * @param remainingMillis tempo restante no relógio de quem joga
+     * @param incrementMillis incremento por jogada
+     * @param movesToGo jogadas até ao próximo controlo de tempo, ou 0 se não houver
+     * @param overheadMillis margem reservada em cada jogada
+     */
+    public TimeManager(long remainingMillis, long incrementMillis, int movesToGo, long overheadMillis) {
+        if (remainingMillis < 0 || incrementMillis < 0 || movesToGo < 0 || overheadMillis < 0)
+            throw new IllegalArgumentException("Invalid clock values");
+
+        long available = Math.max(1, remainingMillis - overheadMillis);
+        int moves = movesToGo > 0 ? Math.min(movesToGo, MAX_MOVES_TO_GO) : SUDDEN_DEATH_MOVES;
+
+        long hard = Math.max(1, (long) (available * HARD_FRACTION));
+        long soft = available / moves + incrementMillis * 3 / 4;
+        this.softLimit = Math.max(1, Math.min(soft, hard));
+        this.hardLimit = Math.max(softLimit, Math.min((long) (softLimit * HARD_FACTOR), hard));
+    }
+
+    public long getSoftLimit() {
+        return softLimit;
+    }
+
+    public long getHardLimit() {
+        return hardLimit;
+    }
+
+    // Limite suave depois dos ajustes das iterações já feitas
+    public long getAdjustedSoftLimit() {
+        return Math.min(hardLimit, (long) (softLimit * scale));
+    }
+
+    /**
+     * Chamado no fim de cada iteração completa da pesquisa.
+     *
+     * @param result resultado da iteração
+     * @param elapsedMillis tempo gasto desde o início da pesquisa
+     * @return true se não vale a pena começar outra iteração
+     */
+    public boolean shouldStop(SearchResult result, long elapsedMillis) {
+        if (!first) {
+            if (result.getBestMove() != lastBestMove) {
+                // Jogada instável: dar mais tempo para a pesquisa se decidir
+                stableIterations = 0;
+                scale = Math.min(scale * 1.5, 2.5);
+            } else if (++stableIterations >= STABLE_ITERATIONS) {
+                // A mesma jogada domina há várias iterações: poupar tempo
+                scale = Math.max(scale * 0.85, 0.4);
+            }
+            if (result.getScore() < lastScore - SCORE_DROP)
+                scale = Math.min(scale * 1.3, 2.5);
+        }
+        first = false;
+        lastBestMove = result.getBestMove();
+        lastScore = result.getScore();
+
+        return elapsedMillis >= getAdjustedSoftLimit() * NEXT_ITERATION;
+    }
+}
@@ -0,0 +1,363 @@
+package pt.isec.pa.chess.model.search;
+
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.Move;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.Position;
+import pt.isec.pa.chess.model.data.UndoInfo;
+import pt.isec.pa.chess.model.data.pieces.PieceColor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pesquisa alfa-beta paralela em fork/join com Young Brothers Wait.
+ * Em cada nó o primeiro filho é pesquisado em série; os restantes irmãos são lançados como
+ * tarefas com a janela obtida do primeiro. Se o irmão k provocar um corte beta, só os irmãos
+ * seguintes a k são cancelados.
+ * <p>
+ * O resultado e o número de nós são deterministas, independentemente do número de threads:
+ * cada irmão é pesquisado com uma janela fixa, o corte é sempre atribuído ao primeiro irmão
+ * que o provoca e só contam os nós dos irmãos 0..k. Por isso não há tabela de transposição
+ * e o orçamento é apenas de profundidade.
+ */
+public class YbwSearch {
+    private static final int SPLIT_DEPTH = 3; // abaixo disto o nó é pesquisado em série na mesma tarefa
+
+    private final ForkJoinPool pool;
+    private final ThreadLocal<SerialSearch> serialSearches = ThreadLocal.withInitial(SerialSearch::new);
+
+    public YbwSearch() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public YbwSearch(int parallelism) {
+        this(new ForkJoinPool(parallelism));
+    }
+
+    public YbwSearch(ForkJoinPool pool) {
+        if (pool == null)
+            throw new IllegalArgumentException("Invalid pool");
+        this.pool = pool;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    // Termina as threads de uma pool criada por este objeto
+    public void shutdown() {
+        if (pool != ForkJoinPool.commonPool())
+            pool.shutdown();
+    }
+
+    public SearchResult search(ChessGame game, int depth) {
+        return search(game.copyBoard(), game.getCurrentPlayer(), depth);
+    }
+
+    /**
+     * Aprofundamento iterativo até à profundidade indicada; a melhor jogada de cada iteração
+     * é pesquisada primeiro na seguinte.
+     *
+     * @param board tabuleiro a pesquisar (não é alterado)
+     * @param sideToMove cor de quem joga
+     * @param depth profundidade em meias-jogadas
+     * @return resultado da última iteração completa (e a sua profundidade), com os nós de todas as iterações
+     */
+    public SearchResult search(Board board, PieceColor sideToMove, int depth) {
+        if (board == null || sideToMove == null)
+            throw new IllegalArgumentException("Invalid search arguments");
+        if (depth < 1 || depth > SearchLimits.MAX_DEPTH)
+            throw new IllegalArgumentException("Invalid depth: " + depth);
+
+        long start = System.nanoTime();
+        long nodes = 0;
+        NodeResult result = null;
+        int completed = 0;
+        for (int d = 1; d <= depth; d++) {
+            int rootFirst = result == null ? Move.NONE : result.bestMove;
+            NodeTask root = new NodeTask(board.copy(), sideToMove, d, -Search.INFINITY, Search.INFINITY,
+                    0, new long[0], null, 0, rootFirst);
+            result = pool.invoke(root);
+            nodes += result.nodes;
+            completed = d;
+            if (result.bestMove == Move.NONE)
+                break; // sem jogadas (mate ou afogamento): as iterações seguintes seriam iguais
+        }
+
+        long elapsed = (System.nanoTime() - start) / 1_000_000L;
+        return new SearchResult(result.bestMove, result.score, completed, nodes, elapsed, result.pv);
+    }
+
+    private record NodeResult(int score, int bestMove, long nodes, int[] pv) {}
+
+    private final class NodeTask extends RecursiveTask<NodeResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final Board board;
+        private final PieceColor color;
+        private final int depth;
+        private final int alpha;
+        private final int beta;
+        private final int ply;
+        private final long[] path;       // chaves das posições anteriores (repetições)
+        private final NodeTask parent;
+        private final int index;         // ordem entre os irmãos
+        private final int firstMove;     // jogada a pesquisar primeiro, ou Move.NONE
+        private final AtomicInteger cutoffIndex = new AtomicInteger(Integer.MAX_VALUE);
+
+        NodeTask(Board board, PieceColor color, int depth, int alpha, int beta, int ply,
+                 long[] path, NodeTask parent, int index, int firstMove) {
+            this.board = board;
+            this.color = color;
+            this.depth = depth;
+            this.alpha = alpha;
+            this.beta = beta;
+            this.ply = ply;
+            this.path = path;
+            this.parent = parent;
+            this.index = index;
+            this.firstMove = firstMove;
+        }
+
+        // Cancelada se um irmão anterior (desta tarefa ou de um antecessor) provocou um corte
+        boolean isCutOff() {
+            for (NodeTask task = this; task.parent != null; task = task.parent) {
+                if (task.parent.cutoffIndex.get() < task.index)
+                    return true;
+            }
+            return false;
+        }
+
+        @Override
+        protected NodeResult compute() {
+            NodeResult result = search();
+            // Um filho que falha baixo provoca o corte no pai
+            if (result != null && parent != null && index > 0 && result.score <= alpha)
+                parent.cutoffIndex.accumulateAndGet(index, Math::min);
+            return result;
+        }
+
+        private NodeResult search() {
+            if (isCutOff())
+                return null;
+
+            long key = board.getZobristKey(color);
+            if (ply > 0 && isRepetition(path, key))
+                return new NodeResult(0, Move.NONE, 1, new int[0]);
+
+            if (depth < SPLIT_DEPTH)
+                return serialSearches.get().search(this, key);
+
+            MoveList moves = legalMoves(board, color, firstMove);
+            if (moves.isEmpty())
+                return new NodeResult(isInCheck(board, color) ? -Search.MATE + ply : 0, Move.NONE, 1, new int[0]);
+
+            long[] childPath = Arrays.copyOf(path, path.length + 1);
+            childPath[path.length] = key;
+
+            // Irmão mais velho: em série, no mesmo tabuleiro
+            UndoInfo undo = new UndoInfo();
+            int eldest = moves.get(0);
+            board.makeMove(eldest, undo);
+            NodeResult first = new NodeTask(board, color.opposite(), depth - 1, -beta, -alpha,
+                    ply + 1, childPath, this, 0, Move.NONE).compute();
+            board.unmakeMove(undo);
+            if (first == null)
+                return null;
+
+            long nodes = 1 + first.nodes;
+            int bestScore = -first.score;
+            int bestMove = eldest;
+            int[] bestPv = first.pv;
+            int windowAlpha = Math.max(alpha, bestScore);
+            if (bestScore >= beta || moves.size() == 1)
+                return new NodeResult(bestScore, bestMove, nodes, prepend(bestMove, bestPv));
+
+            // Irmãos mais novos: em paralelo, todos com a mesma janela
+            List<NodeTask> siblings = new ArrayList<>(moves.size() - 1);
+            for (int i = 1; i < moves.size(); i++) {
+                Board copy = board.copy();
+                copy.makeMove(moves.get(i), new UndoInfo());
+                siblings.add(new NodeTask(copy, color.opposite(), depth - 1, -beta, -windowAlpha,
+                        ply + 1, childPath, this, i, Move.NONE));
+            }
+            invokeAll(siblings);
+            if (isCutOff())
+                return null;
+
+            for (int i = 0; i < siblings.size(); i++) {
+                NodeResult child = siblings.get(i).join();
+                if (child == null)
+                    break; // cancelado por um corte num irmão anterior
+                nodes += child.nodes;
+                int score = -child.score;
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestMove = moves.get(i + 1);
+                    bestPv = child.pv;
+                }
+                if (bestScore >= beta)
+                    break;
+            }
+            return new NodeResult(bestScore, bestMove, nodes, prepend(bestMove, bestPv));
+        }
+    }
+
+    // Alfa-beta sem paralelismo nem tabela para os nós perto das folhas; uma instância por thread
+    private static final class SerialSearch {
+        private final MoveList[] moveLists = new MoveList[SPLIT_DEPTH];
+        private final UndoInfo[] undos = new UndoInfo[SPLIT_DEPTH];
+        private final long[] keys = new long[Search.MAX_PLY];
+        private final PawnHashTable pawns = new PawnHashTable();
+        private final Quiescence quiescence = new Quiescence(pawns);
+        private NodeTask task;
+        private Board board;
+        private long nodes;
+        private boolean cancelled;
+        private int rootBestMove;
+
+        SerialSearch() {
+            for (int i = 0; i < SPLIT_DEPTH; i++) {
+                moveLists[i] = new MoveList();
+                undos[i] = new UndoInfo();
+            }
+        }
+
+        NodeResult search(NodeTask task, long key) {
+            this.task = task;
+            this.board = task.board;
+            this.nodes = 0;
+            this.cancelled = false;
+            quiescence.resetNodes();
+            this.rootBestMove = Move.NONE;
+            System.arraycopy(task.path, 0, keys, 0, task.path.length);
+
+            int score = negamax(task.color, task.depth, task.alpha, task.beta, task.path.length, key, task.ply);
+            this.task = null;
+            this.board = null;
+            if (cancelled)
+                return null;
+            return new NodeResult(score, rootBestMove, nodes + quiescence.getNodes(), rootBestMove == Move.NONE ? new int[0] : new int[]{rootBestMove});
+        }
+
+        private int negamax(PieceColor color, int depth, int alpha, int beta, int pathLength, long key, int ply) {
+            nodes++;
+            if ((nodes & 1023) == 0 && task.isCutOff())
+                cancelled = true;
+            if (cancelled)
+                return 0;
+
+            if (pathLength > task.path.length && isRepetition(keys, pathLength, key))
+                return 0;
+            if (depth == 0)
+                return quiescence.search(board, color, alpha, beta, ply);
+            keys[pathLength] = key;
+
+            int level = task.depth - depth;
+            MoveList moves = moveLists[level];
+            moves.clear();
+            board.generateMoves(color, moves);
+            orderMoves(moves, Move.NONE);
+
+            int bestScore = -Search.INFINITY;
+            int legalMoves = 0;
+            for (int i = 0; i < moves.size(); i++) {
+                int move = moves.get(i);
+                board.makeMove(move, undos[level]);
+                if (isInCheck(board, color)) {
+                    board.unmakeMove(undos[level]);
+                    continue;
+                }
+                legalMoves++;
+                int score = -negamax(color.opposite(), depth - 1, -beta, -alpha, pathLength + 1,
+                        board.getZobristKey(color.opposite()), ply + 1);
+                board.unmakeMove(undos[level]);
+                if (cancelled)
+                    return 0;
+
+                if (score > bestScore) {
+                    bestScore = score;
+                    if (level == 0)
+                        rootBestMove = move;
+                    if (score > alpha) {
+                        alpha = score;
+                        if (alpha >= beta)
+                            break;
+                    }
+                }
+            }
+
+            if (legalMoves == 0)
+                return isInCheck(board, color) ? -Search.MATE + ply : 0;
+            return bestScore;
+        }
+    }
+
+    // Jogadas legais por ordem determinista: firstMove, capturas e promoções, restantes
+    private static MoveList legalMoves(Board board, PieceColor color, int firstMove) {
+        MoveList moves = new MoveList();
+        board.generateMoves(color, moves);
+        UndoInfo undo = new UndoInfo();
+        for (int i = moves.size() - 1; i >= 0; i--) {
+            if (!board.isLegal(moves.get(i), undo))
+                moves.removeAt(i);
+        }
+        orderMoves(moves, firstMove);
+        return moves;
+    }
+
+    private static void orderMoves(MoveList moves, int firstMove) {
+        int next = 0;
+        if (firstMove != Move.NONE) {
+            for (int i = 0; i < moves.size(); i++) {
+                if (moves.get(i) == firstMove) {
+                    shiftTo(moves, i, next++);
+                    break;
+                }
+            }
+        }
+        for (int i = next; i < moves.size(); i++) {
+            if (Move.isCapture(moves.get(i)) || Move.isPromotion(moves.get(i)))
+                shiftTo(moves, i, next++);
+        }
+    }
+
+    // Move o elemento de from para to mantendo a ordem relativa dos restantes (ordenação estável)
+    private static void shiftTo(MoveList moves, int from, int to) {
+        int move = moves.get(from);
+        for (int i = from; i > to; i--)
+            moves.set(i, moves.get(i - 1));
+        moves.set(to, move);
+    }
+
+    private static boolean isInCheck(Board board, PieceColor color) {
+        Position king = board.findKingPosition(color);
+        return king != null && board.isPositionUnderAttack(king, color.opposite());
+    }
+
+    private static boolean isRepetition(long[] path, long key) {
+        return isRepetition(path, path.length, key);
+    }
+
+    // Mesma posição com o mesmo jogador: 2, 4, ... meias-jogadas antes
+    private static boolean isRepetition(long[] keys, int length, long key) {
+        for (int i = length - 2; i >= 0; i -= 2) {
+            if (keys[i] == key)
+                return true;
+        }
+        return false;
+    }
+
+    private static int[] prepend(int move, int[] pv) {
+        int[] result = new int[pv.length + 1];
+        result[0] = move;
+        System.arraycopy(pv, 0, result, 1, pv.length);
+        return result;
+    }
+}
@@ -369,7 +369,7 @@ public class ChessBoardView extends Canvas {
     private void drawPieces(GraphicsContext gc, double cellSize, double margin, int boardSize) {
         for (int row = 1; row <= boardSize; row++) {
             for (char col = 'a'; col < 'a' + boardSize; col++) {
-                String posStr = "" + col + row;
+                String posStr = Position.of(col, row).toString(); // nome em cache, sem concatenar
                 String pieceStr = gameManager.getPieceAt(posStr);
 
                 if (pieceStr == null) continue;
@@ -414,7 +414,7 @@ public class ChessBoardView extends Canvas {
 
         char colChar = (char) ('a' + col);
         int rowNum = gameManager.getBoardSize() - row;
-        return new Position(colChar, rowNum);
+        return Position.of(colChar, rowNum);
     }
 
     private double getCellSize() {
@@ -3,6 +3,8 @@ package pt.isec.pa.chess.ui;
 import javafx.scene.control.*;
 import javafx.scene.input.KeyCombination;
 
+import java.util.stream.Stream;
+
 public class ChessMenu extends MenuBar {
 
     // Game Menu
@@ -24,6 +26,21 @@ public class ChessMenu extends MenuBar {
     MenuItem undo;
     MenuItem redo;
 
+    // Computer menu
+    Menu computerMenu;
+
+    RadioMenuItem computerOff;
+    RadioMenuItem computerWhite;
+    RadioMenuItem computerBlack;
+
+    // Clock menu
+    Menu clockMenu;
+
+    RadioMenuItem clockOff;
+    RadioMenuItem clockBlitz3;
+    RadioMenuItem clockBlitz5;
+    RadioMenuItem clockRapid10;
+
     public ChessMenu() {
         createViews();
         registerHandlers();
@@ -86,7 +103,34 @@ public class ChessMenu extends MenuBar {
                 redo
         );
 
-        this.getMenus().addAll(gameMenu, modeMenu);
+        // Computer menu
+        computerMenu = new Menu("Computer");
+        computerOff = new RadioMenuItem("Off");
+        computerWhite = new RadioMenuItem("Plays White");
+        computerBlack = new RadioMenuItem("Plays Black");
+
+        ToggleGroup computerGroup = new ToggleGroup();
+        computerOff.setToggleGroup(computerGroup);
+        computerWhite.setToggleGroup(computerGroup);
+        computerBlack.setToggleGroup(computerGroup);
+        computerOff.setSelected(true);
+
+        computerMenu.getItems().addAll(computerOff, computerWhite, computerBlack);
+
+        // Clock menu
+        clockMenu = new Menu("Clock");
+        clockOff = new RadioMenuItem("Off");
+        clockBlitz3 = new RadioMenuItem("3 + 2");
+        clockBlitz5 = new RadioMenuItem("5 + 0");
+        clockRapid10 = new RadioMenuItem("10 + 5");
+
+        ToggleGroup clockGroup = new ToggleGroup();
+        Stream.of(clockOff, clockBlitz3, clockBlitz5, clockRapid10).forEach(item -> item.setToggleGroup(clockGroup));
+        clockOff.setSelected(true);
+
+        clockMenu.getItems().addAll(clockOff, clockBlitz3, clockBlitz5, clockRapid10);
+
+        this.getMenus().addAll(gameMenu, modeMenu, computerMenu, clockMenu);
     }
 
     private void registerHandlers() {
@@ -115,4 +159,13 @@ public class ChessMenu extends MenuBar {
     public CheckMenuItem getShowPossibleMoves() { return showPossibleMoves; }
     public MenuItem getUndo() { return undo; }
     public MenuItem getRedo() { return redo; }
+
+    public RadioMenuItem getComputerOff() { return computerOff; }
+    public RadioMenuItem getComputerWhite() { return computerWhite; }
+    public RadioMenuItem getComputerBlack() { return computerBlack; }
+
+    public RadioMenuItem getClockOff() { return clockOff; }
+    public RadioMenuItem getClockBlitz3() { return clockBlitz3; }
+    public RadioMenuItem getClockBlitz5() { return clockBlitz5; }
+    public RadioMenuItem getClockRapid10() { return clockRapid10; }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package pt.isec.pa.chess.ui;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -17,6 +18,8 @@ public class MainJFX extends Application {
 
     @Override
     public void start(Stage stage1) {
+        // O computador pensa noutra thread; a jogada é aplicada na thread da interface
+        gameManager.setComputerMoveExecutor(Platform::runLater);
         createStage(stage1);
 
         Stage stage2 = new Stage();
@@ -1,5 +1,8 @@
 package pt.isec.pa.chess.ui;
 
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
@@ -7,6 +10,8 @@ import javafx.scene.layout.*;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.FileChooser;
+import javafx.util.Duration;
+import pt.isec.pa.chess.model.ChessClock;
 import pt.isec.pa.chess.model.ChessGameManager;
 import pt.isec.pa.chess.model.data.pieces.PieceColor;
 
@@ -21,6 +26,7 @@ public class RootPane extends BorderPane {
     private Label labelPreto, labelBranco;
     private Button undoButton, redoButton;
     private ToggleButton soundButton;
+    private Timeline clockTimeline;
 
     public RootPane(ChessGameManager gameManager) {
         this.gameManager = gameManager;
@@ -37,6 +43,10 @@ public class RootPane extends BorderPane {
         setupLayout();
         createToolbar();
 
+        // Os relógios são atualizados na interface a cada 100 ms enquanto houver relógio
+        clockTimeline = new Timeline(new KeyFrame(Duration.millis(100), e -> updatePlayerLabels()));
+        clockTimeline.setCycleCount(Animation.INDEFINITE);
+
         this.setFocusTraversable(true);
         this.requestFocus();
     }
@@ -99,13 +109,14 @@ public class RootPane extends BorderPane {
 
     private void registerHandlers() {
         gameManager.addPropertyChangeListener(ChessGameManager.PROP_BOARD, evt -> update());
-        gameManager.addPropertyChangeListener(ChessGameManager.PROP_WHITE_PLAYER, evt -> {
-            if (labelBranco != null)
-                labelBranco.setText(String.valueOf(evt.getNewValue()));
-        });
-        gameManager.addPropertyChangeListener(ChessGameManager.PROP_BLACK_PLAYER, evt -> {
-            if (labelPreto != null)
-                labelPreto.setText(String.valueOf(evt.getNewValue()));
+        gameManager.addPropertyChangeListener(ChessGameManager.PROP_WHITE_PLAYER, evt -> updatePlayerLabels());
+        gameManager.addPropertyChangeListener(ChessGameManager.PROP_BLACK_PLAYER, evt -> updatePlayerLabels());
+        gameManager.addPropertyChangeListener(ChessGameManager.PROP_CLOCK, evt -> {
+            if (gameManager.hasClock())
+                clockTimeline.play();
+            else
+                clockTimeline.stop();
+            updatePlayerLabels();
         });
 
         this.setOnKeyPressed(event -> {
@@ -145,6 +156,15 @@ public class RootPane extends BorderPane {
                 boardView.setShowPossibleMoves(gameManager.isShowMovesMode());
             }
         });
+
+        menu.getComputerOff().setOnAction(e -> gameManager.setComputerPlayer(null));
+        menu.getComputerWhite().setOnAction(e -> gameManager.setComputerPlayer(PieceColor.WHITE));
+        menu.getComputerBlack().setOnAction(e -> gameManager.setComputerPlayer(PieceColor.BLACK));
+
+        menu.getClockOff().setOnAction(e -> gameManager.clearClock());
+        menu.getClockBlitz3().setOnAction(e -> gameManager.setClock(3 * 60_000, 2_000));
+        menu.getClockBlitz5().setOnAction(e -> gameManager.setClock(5 * 60_000, 0));
+        menu.getClockRapid10().setOnAction(e -> gameManager.setClock(10 * 60_000, 5_000));
     }
 
     private void handleNewGame() {
@@ -271,10 +291,26 @@ public class RootPane extends BorderPane {
         boardView.draw();
         updateTurnColors();
         updateUndoRedoButtons();
+        updatePlayerLabels();
+    }
 
+    // Nome do jogador, seguido do tempo restante se o jogo tiver relógio
+    private void updatePlayerLabels() {
         if (labelBranco != null)
-            labelBranco.setText(gameManager.getWhitePlayerName());
+            labelBranco.setText(playerText(gameManager.getWhitePlayerName(), PieceColor.WHITE));
         if (labelPreto != null)
-            labelPreto.setText(gameManager.getBlackPlayerName());
+            labelPreto.setText(playerText(gameManager.getBlackPlayerName(), PieceColor.BLACK));
+    }
+
+    private String playerText(String name, PieceColor color) {
+        if (!gameManager.hasClock())
+            return name;
+        String text = name + "  " + ChessClock.format(gameManager.getRemainingTime(color));
+        if (gameManager.isTimeOut(color))
+            return text + "  (tempo esgotado)";
+        // Enquanto o computador pensa mostra também o que ainda prevê gastar nesta jogada
+        if (color == gameManager.getComputerPlayer() && gameManager.isComputerThinking())
+            text += "  (a pensar, ~" + ChessClock.format(gameManager.getComputerTimeLeft()) + ")";
+        return text;
     }
 }
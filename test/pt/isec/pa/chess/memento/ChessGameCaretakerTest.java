@@ -0,0 +1,135 @@
+package pt.isec.pa.chess.memento;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.Move;
+import pt.isec.pa.chess.model.data.PieceSquareTables;
+import pt.isec.pa.chess.model.data.pieces.PieceColor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for the undo/redo history in both snapshot and delta modes
+ */
+public class ChessGameCaretakerTest {
+
+    // En passant, captures, a knight under-promotion with check and castling
+    private static final String[][] MOVES = {
+            {"e2", "e4"}, {"d7", "d5"}, {"e4", "e5"}, {"f7", "f5"}, {"e5", "f6"}, {"b8", "c6"},
+            {"f6", "g7"}, {"e8", "f7"}, {"g7", "h8", "KNIGHT"}, {"f7", "e6"}, {"g1", "f3"}, {"d8", "d6"},
+            {"f1", "c4"}, {"a7", "a6"}, {"e1", "g1"}
+    };
+
+    @Test
+    @DisplayName("Test 1: Delta and snapshot histories restore the same positions")
+    void testUndoRedoModes() {
+        for (ChessGameCaretaker.Mode mode : ChessGameCaretaker.Mode.values()) {
+            ChessGame game = new ChessGame();
+            ChessGameCaretaker caretaker = new ChessGameCaretaker(mode);
+            caretaker.initialize(game);
+            assertFalse(caretaker.canUndo());
+
+            List<String> fens = new ArrayList<>();
+            fens.add(game.exportFen());
+            for (String[] move : MOVES) {
+                assertTrue(game.play(move[0], move[1]), mode + ": " + move[0] + move[1]);
+                caretaker.save(game);
+                if (move.length > 2) {
+                    game.promotePawnAt(move[1], move[2]);
+                    caretaker.update(game);
+                }
+                fens.add(game.exportFen());
+            }
+            assertEquals("N", game.getPieceAt("h8").substring(0, 1), "Under-promotion");
+            assertEquals("R", game.getPieceAt("f1").substring(0, 1), "Castled rook");
+
+            for (int i = MOVES.length - 1; i >= 0; i--) {
+                game = caretaker.undo();
+                assertEquals(fens.get(i), game.exportFen(), mode + " undo to ply " + i);
+                assertConsistent(game);
+            }
+            assertFalse(caretaker.canUndo());
+            for (int i = 1; i <= MOVES.length; i++) {
+                game = caretaker.redo();
+                assertEquals(fens.get(i), game.exportFen(), mode + " redo to ply " + i);
+            }
+            assertFalse(caretaker.canRedo());
+            assertEquals(PieceColor.BLACK, game.getCurrentPlayer());
+        }
+    }
+
+    @Test
+    @DisplayName("Test 2: Delta history undoes in place and a new move clears redo")
+    void testDeltaHistory() {
+        ChessGame game = new ChessGame();
+        ChessGameCaretaker caretaker = new ChessGameCaretaker(ChessGameCaretaker.Mode.DELTA);
+        caretaker.initialize(game);
+        long initialKey = game.getZobristKey();
+
+        game.play("e2", "e4");
+        caretaker.save(game);
+        game.play("e7", "e5");
+        caretaker.save(game);
+        assertSame(game, caretaker.undo(), "Delta mode works on the same game");
+        assertSame(game, caretaker.undo());
+        assertEquals(initialKey, game.getZobristKey());
+        assertNull(game.getLastDelta());
+
+        game.play("d2", "d4");
+        caretaker.save(game);
+        assertFalse(caretaker.canRedo(), "A new move discards the redo history");
+        assertTrue(caretaker.canUndo());
+        assertEquals("d2d4", Move.toString(game.getLastDelta().getMove()));
+    }
+
+    private static void assertConsistent(ChessGame game) {
+        Board board = game.copyBoard();
+        assertEquals(PieceSquareTables.compute(board), board.getPieceSquareScore(), "Incremental evaluation restored");
+        ChessGame fresh = new ChessGame();
+        fresh.importFen(game.exportFen());
+        assertEquals(fresh.getZobristKey(), game.getZobristKey(), "Zobrist key restored");
+    }
+
+    @Test
+    @DisplayName("Test 3: Delta history keeps the whole game and allows random access")
+    void testUnboundedHistory() {
+        ChessGame game = new ChessGame();
+        ChessGameCaretaker caretaker = new ChessGameCaretaker(ChessGameCaretaker.Mode.DELTA);
+        caretaker.initialize(game);
+
+        // 40 knight shuffles, well beyond the 100 states kept by snapshots
+        String[][] shuffle = {{"g1", "f3"}, {"g8", "f6"}, {"f3", "g1"}, {"f6", "g8"}};
+        List<String> fens = new ArrayList<>();
+        fens.add(game.exportFen());
+        for (int i = 0; i < 160; i++) {
+            String[] move = shuffle[i % shuffle.length];
+            assertTrue(game.play(move[0], move[1]));
+            caretaker.save(game);
+            fens.add(game.exportFen());
+        }
+        assertEquals(160, caretaker.getHistorySize());
+
+        for (int i = 159; i >= 0; i--)
+            game = caretaker.undo();
+        assertEquals(fens.get(0), game.exportFen(), "Undo reaches the start of the game");
+        assertEquals(0, caretaker.getPly());
+        game = caretaker.redo();
+        assertEquals(fens.get(1), game.exportFen());
+
+        for (int ply : new int[]{77, 0, 160, GameHistory.KEYFRAME_INTERVAL * 3, 31})
+            assertEquals(fens.get(ply), caretaker.goTo(ply).exportFen(), "Random access to ply " + ply);
+
+        game = caretaker.goTo(64);
+        assertTrue(game.play("e2", "e4"));
+        caretaker.save(game);
+        assertEquals(65, caretaker.getHistorySize(), "A new move truncates the later plies");
+        assertFalse(caretaker.canRedo());
+        assertEquals(fens.get(64), caretaker.undo().exportFen());
+    }
+}
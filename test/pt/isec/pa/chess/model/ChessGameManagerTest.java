@@ -6,9 +6,16 @@ import org.junit.jupiter.api.DisplayName;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import pt.isec.pa.chess.memento.VariationTree;
+import pt.isec.pa.chess.model.data.ChessGameSerialization;
 import pt.isec.pa.chess.model.data.End_Type;
+import pt.isec.pa.chess.model.data.Move;
 import pt.isec.pa.chess.model.data.pieces.PieceColor;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.util.List;
 
 /**
@@ -299,4 +306,175 @@ public class ChessGameManagerTest {
         manager.setShowMovesMode(false);
         assertFalse(manager.isShowMovesMode(), "Show moves mode should be disabled");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test 7: Chess clock with increment and flag fall")
+    void testChessClock() {
+        long[] now = {0};
+        ChessClock clock = new ChessClock(60_000, 2_000, () -> now[0] * 1_000_000L);
+        clock.start(PieceColor.WHITE);
+        now[0] = 5_000;
+        assertEquals(55_000, clock.getRemaining(PieceColor.WHITE), "White's clock runs");
+        assertEquals(60_000, clock.getRemaining(PieceColor.BLACK), "Black's clock is stopped");
+
+        clock.press(PieceColor.WHITE);
+        assertEquals(57_000, clock.getRemaining(PieceColor.WHITE), "Increment added after the move");
+        assertEquals(PieceColor.BLACK, clock.getRunning());
+        now[0] = 70_000;
+        assertTrue(clock.isFlagged(PieceColor.BLACK), "Black ran out of time");
+        assertFalse(clock.isFlagged(PieceColor.WHITE));
+        assertEquals("0:00.0", ChessClock.format(clock.getRemaining(PieceColor.BLACK)));
+        assertEquals("0:57", ChessClock.format(57_000));
+
+        // The manager presses the clock after every move
+        manager.setClock(60_000, 1_000);
+        assertTrue(manager.play("e2", "e4"));
+        assertTrue(manager.getRemainingTime(PieceColor.WHITE) > 60_000, "White gained the increment");
+        assertTrue(manager.getRemainingTime(PieceColor.BLACK) <= 60_000);
+        manager.clearClock();
+        assertEquals(-1, manager.getRemainingTime(PieceColor.WHITE));
+    }
+
+    @Test
+    @DisplayName("Test 8: Variation tree keeps alternative lines")
+    void testVariationTree() {
+        manager.setLearningMode(true);
+        assertTrue(manager.play("e2", "e4"));
+        assertTrue(manager.play("e7", "e5"));
+        VariationTree.Node mainLine = manager.getVariationTree().getCurrent();
+        mainLine.setComment("Open game");
+
+        // Undo and try another reply: the first line is kept as a variation
+        assertTrue(manager.undo());
+        assertTrue(manager.play("c7", "c5"));
+        VariationTree tree = manager.getVariationTree();
+        VariationTree.Node afterE4 = tree.getRoot().getMainContinuation();
+        assertEquals(2, afterE4.getChildren().size(), "Both replies to e4 are stored");
+        assertEquals(4, tree.size());
+
+        // Jump back to the first line without replaying moves
+        assertTrue(manager.goToVariation(mainLine));
+        assertEquals("P", manager.getPieceAt("e4").substring(0, 1));
+        assertEquals("p", manager.getPieceAt("e5").substring(0, 1));
+        assertNull(manager.getPieceAt("c5"));
+        assertEquals(PieceColor.WHITE, manager.getCurrentPlayer());
+        assertEquals("Open game", tree.getCurrent().getComment());
+
+        // Replaying an existing move reuses its node
+        assertTrue(manager.goToVariation(afterE4));
+        assertTrue(manager.play("e7", "e5"));
+        assertSame(mainLine, tree.getCurrent());
+        assertEquals(4, tree.size());
+
+        tree.promote(afterE4.getChildren().get(1));
+        assertEquals("c7c5", Move.toString(afterE4.getMainContinuation().getMove()));
+        tree.remove(mainLine);
+        assertSame(afterE4, tree.getCurrent(), "Removing the current line moves back to its parent");
+        assertEquals(3, tree.size());
+    }
+
+    @Test
+    @DisplayName("Test 9: Binary save format keeps position, names and moves")
+    void testBinarySaveFormat() throws IOException {
+        manager.setLearningMode(true);
+        assertTrue(manager.play("e2", "e4"));
+        assertTrue(manager.play("g8", "f6"));
+        assertTrue(manager.play("e4", "e5"));
+        assertTrue(manager.play("d7", "d5")); // en passant possible on d6
+
+        File file = File.createTempFile("chess", ".bin");
+        file.deleteOnExit();
+        manager.saveGame(file);
+        // Header, two positions of 34 bytes, names and four moves of two bytes
+        assertTrue(file.length() < 120, "Saved game should be tens of bytes, was " + file.length());
+
+        ChessGameManager loaded = new ChessGameManager();
+        loaded.setLearningMode(true);
+        loaded.openGame(file);
+        assertEquals("TestPlayer1", loaded.getWhitePlayerName());
+        assertEquals("TestPlayer2", loaded.getBlackPlayerName());
+        assertEquals(PieceColor.WHITE, loaded.getCurrentPlayer());
+        assertEquals("p", loaded.getPieceAt("d5").substring(0, 1));
+        assertTrue(loaded.play("e5", "d6"), "En passant right is kept");
+        assertNull(loaded.getPieceAt("d5"));
+
+        // The moves were replayed: undo history and variation tree are back
+        assertEquals(5, loaded.getVariationTree().getMainLine().size());
+        assertTrue(loaded.undo());
+        assertTrue(loaded.undo());
+        assertEquals("P", loaded.getPieceAt("e5").substring(0, 1));
+        assertNull(loaded.getPieceAt("d5"));
+
+        // A header followed by an empty board is rejected and the current game is kept
+        byte[] empty = new byte[39];
+        ByteBuffer.wrap(empty).putInt(ChessGameSerialization.MAGIC).put((byte) ChessGameSerialization.VERSION).put((byte) 0).put((byte) 0xFF);
+        assertThrows(IOException.class, () -> ChessGameSerialization.fromBytes(ByteBuffer.wrap(empty)));
+        Files.write(file.toPath(), empty);
+        loaded.openGame(file);
+        assertEquals("P", loaded.getPieceAt("e5").substring(0, 1), "A bad file leaves the board untouched");
+    }
+
+    @Test
+    @DisplayName("Test 10: New game cancels the computer search")
+    void testComputerSearchCancelled() {
+        manager.setComputerTime(5000);
+        manager.setComputerPlayer(PieceColor.WHITE);
+        assertTrue(manager.isComputerThinking(), "Computer searches in the background");
+        assertFalse(manager.play("e7", "e5"), "No moves while the computer is thinking");
+
+        long start = System.nanoTime();
+        manager.newGame("TestPlayer1", "TestPlayer2");
+        manager.waitForComputer();
+        assertTrue((System.nanoTime() - start) / 1_000_000 < 2000, "The search was stopped");
+        assertFalse(manager.isComputerThinking());
+        assertEquals(PieceColor.WHITE, manager.getCurrentPlayer(), "The cancelled move was not played");
+        assertEquals("P", manager.getPieceAt("e2").substring(0, 1));
+    }
+
+    @Test
+    @DisplayName("Test 11: Clocked computer move runs in the background within its budget")
+    void testClockedComputerMove() {
+        manager.setClock(3000, 0);
+        manager.setComputerPlayer(PieceColor.WHITE);
+        assertTrue(manager.isComputerThinking());
+        long budget = manager.getComputerTimeLeft();
+        assertTrue(budget > 0 && budget <= 3000, "Budget follows the time manager: " + budget);
+
+        manager.waitForComputer();
+        assertEquals(-1, manager.getComputerTimeLeft());
+        assertEquals(PieceColor.BLACK, manager.getCurrentPlayer(), "Computer played as white");
+        assertTrue(manager.getRemainingTime(PieceColor.WHITE) > 2500, "Only the budget was spent");
+    }
+
+    @Test
+    @DisplayName("Test 12: Saving after a variation jump keeps the whole line")
+    void testSaveAfterVariationJump() throws IOException {
+        manager.setLearningMode(true);
+        assertTrue(manager.play("e2", "e4"));
+        assertTrue(manager.play("e7", "e5"));
+        VariationTree.Node afterE5 = manager.getVariationTree().getCurrent();
+        assertTrue(manager.play("g1", "f3"));
+
+        assertTrue(manager.goToVariation(afterE5));
+        assertTrue(manager.play("b1", "c3"));
+        File file = File.createTempFile("chess", ".bin");
+        file.deleteOnExit();
+        manager.saveGame(file);
+
+        ChessGameManager loaded = new ChessGameManager();
+        loaded.setLearningMode(true);
+        loaded.openGame(file);
+        assertEquals("N", loaded.getPieceAt("c3").substring(0, 1));
+        assertEquals("p", loaded.getPieceAt("e5").substring(0, 1));
+        assertEquals(3, loaded.getVariationTree().getMainLine().size(), "e4 e5 Nc3 were saved");
+
+        // Undo goes past the jump point in both managers
+        for (ChessGameManager m : List.of(manager, loaded)) {
+            assertTrue(m.undo());
+            assertTrue(m.undo());
+            assertTrue(m.undo());
+            assertFalse(m.undo());
+            assertEquals("P", m.getPieceAt("e2").substring(0, 1));
+        }
+    }
+}
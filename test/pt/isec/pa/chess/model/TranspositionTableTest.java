@@ -0,0 +1,105 @@
+package pt.isec.pa.chess.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import pt.isec.pa.chess.model.TranspositionTable.Bound;
+import pt.isec.pa.chess.model.TranspositionTable.ReplacementPolicy;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.Move;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Tests for the lock-free transposition table
+ */
+public class TranspositionTableTest {
+
+    @Test
+    @DisplayName("Test 1: Stored entries are read back with every field intact")
+    void testStoreAndProbe() {
+        TranspositionTable tt = new TranspositionTable(1);
+        assertEquals(1 << 16, tt.capacity(), "1 MB holds 65536 entries of 16 bytes");
+
+        ChessGame game = new ChessGame();
+        long key = game.getZobristKey();
+        int move = Move.of(12, 28, Move.DOUBLE_PUSH);
+        assertEquals(TranspositionTable.NONE, tt.probe(key), "Empty table misses");
+
+        tt.store(key, 7, -1234, Bound.LOWER, move);
+        long data = tt.probe(key);
+        assertNotEquals(TranspositionTable.NONE, data);
+        assertEquals(7, TranspositionTable.depth(data));
+        assertEquals(-1234, TranspositionTable.score(data));
+        assertEquals(Bound.LOWER, TranspositionTable.bound(data));
+        assertEquals(move, TranspositionTable.move(data));
+
+        assertEquals(1, tt.getHits());
+        assertEquals(1, tt.getMisses());
+        assertEquals(TranspositionTable.NONE, tt.probe(key ^ (1L << 40)), "Same slot, different position");
+        assertEquals(1, tt.getCollisions());
+    }
+
+    @Test
+    @DisplayName("Test 2: Replacement policies")
+    void testReplacementPolicies() {
+        long key = 0x1234_5678_9ABC_DEF0L;
+        long other = key ^ (1L << 50); // mesmo índice
+
+        TranspositionTable deep = new TranspositionTable(1, ReplacementPolicy.DEPTH_PREFERRED);
+        deep.store(key, 10, 50, Bound.EXACT, Move.NONE);
+        deep.store(other, 3, 10, Bound.UPPER, Move.NONE);
+        assertEquals(10, TranspositionTable.depth(deep.probe(key)), "Shallower entry should not replace a deeper one");
+        deep.newSearch();
+        deep.store(other, 3, 10, Bound.UPPER, Move.NONE);
+        assertEquals(3, TranspositionTable.depth(deep.probe(other)), "Entries from an older search can be replaced");
+
+        TranspositionTable always = new TranspositionTable(1, ReplacementPolicy.ALWAYS_REPLACE);
+        always.store(key, 10, 50, Bound.EXACT, Move.NONE);
+        always.store(other, 3, 10, Bound.UPPER, Move.NONE);
+        assertEquals(3, TranspositionTable.depth(always.probe(other)), "Always-replace keeps the latest entry");
+        assertEquals(TranspositionTable.NONE, always.probe(key));
+    }
+
+    @Test
+    @DisplayName("Test 3: Concurrent writers never produce a corrupted hit")
+    void testConcurrentAccess() throws InterruptedException {
+        TranspositionTable tt = new TranspositionTable(1, ReplacementPolicy.ALWAYS_REPLACE);
+        int slots = 64; // poucas entradas para forçar escritas concorrentes na mesma casa
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+
+        for (int t = 0; t < 4; t++) {
+            long seed = t;
+            Thread thread = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                for (int i = 0; i < 200_000; i++) {
+                    long key = random.nextLong(slots) * 0x9E37_79B9_7F4A_7C15L;
+                    int depth = (int) (Long.remainderUnsigned(key, 200));
+                    if (random.nextBoolean()) {
+                        tt.store(key, depth, depth * 3, Bound.EXACT, depth);
+                    } else {
+                        long data = tt.probe(key);
+                        if (data != TranspositionTable.NONE && (TranspositionTable.depth(data) != depth
+                                || TranspositionTable.score(data) != depth * 3 || TranspositionTable.move(data) != depth)) {
+                            synchronized (errors) {
+                                errors.add(new AssertionError("Corrupted entry for key " + key));
+                            }
+                        }
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+
+        assertTrue(errors.isEmpty(), errors.isEmpty() ? "" : errors.get(0).getMessage());
+        assertTrue(tt.getHits() > 0, "Threads should see each other's entries");
+    }
+}
@@ -0,0 +1,97 @@
+package pt.isec.pa.chess.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests for the UCI front-end
+ */
+public class UciCommandsTest {
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private final UciCommands uci = new UciCommands(new BufferedReader(new StringReader("")),
+            new PrintStream(buffer, true, StandardCharsets.UTF_8));
+
+    private List<String> output() {
+        List<String> lines = Arrays.asList(buffer.toString(StandardCharsets.UTF_8).split("\\R"));
+        buffer.reset();
+        return lines;
+    }
+
+    @Test
+    @DisplayName("Test 1: Handshake, options and readiness")
+    void testHandshake() {
+        uci.processCommand("uci");
+        List<String> lines = output();
+        assertTrue(lines.get(0).startsWith("id name "));
+        assertTrue(lines.contains("option name Hash type spin default 64 min 1 max 4096"));
+        assertEquals("uciok", lines.get(lines.size() - 1));
+
+        uci.processCommand("setoption name Hash value 8");
+        uci.processCommand("setoption name Threads value 2");
+        uci.processCommand("isready");
+        assertEquals(List.of("readyok"), output(), "Valid options are accepted silently");
+
+        uci.processCommand("setoption name Hash value 0");
+        assertTrue(output().get(0).startsWith("info string Invalid value"));
+        assertFalse(uci.processCommand("quit"));
+    }
+
+    @Test
+    @DisplayName("Test 2: Position with moves and a depth-limited search")
+    void testPositionAndGo() {
+        // Both kings step into the corner, back rank mate is still there
+        uci.processCommand("position fen 6k1/5ppp/8/8/8/8/5PPP/3R2K1 w - - 0 1 moves g1h1 g8h8");
+        uci.processCommand("go depth 3");
+        uci.waitForSearch();
+        List<String> lines = output();
+        String info = lines.get(lines.size() - 2);
+        assertTrue(info.startsWith("info depth ") && info.contains(" score mate 1 ") && info.contains(" nps ")
+                && info.endsWith(" pv d1d8"), info);
+        assertEquals("bestmove d1d8", lines.get(lines.size() - 1));
+
+        uci.processCommand("position startpos moves e2e4 e7e5 e1e3");
+        assertEquals(List.of("info string Illegal move: e1e3"), output());
+    }
+
+    @Test
+    @DisplayName("Test 3: Infinite search answers only after stop, and stops promptly")
+    void testInfiniteAndStop() throws InterruptedException {
+        uci.processCommand("position startpos moves e2e4");
+        uci.processCommand("go infinite");
+        Thread.sleep(200);
+        uci.processCommand("isready");
+        assertTrue(output().contains("readyok"), "isready is answered while searching");
+
+        long start = System.nanoTime();
+        uci.processCommand("stop");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        List<String> lines = output();
+        assertTrue(lines.get(lines.size() - 1).matches("bestmove [a-h][1-8][a-h][1-8]"), lines.toString());
+        assertTrue(elapsedMillis < 100, "Stop took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    @DisplayName("Test 4: Stop right after go infinite is not lost")
+    void testImmediateStop() {
+        for (int i = 0; i < 20; i++) {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                uci.processCommand("go infinite");
+                uci.processCommand("stop");
+            }, "bestmove was never sent");
+            List<String> lines = output();
+            assertTrue(lines.get(lines.size() - 1).startsWith("bestmove "), lines.toString());
+        }
+    }
+}
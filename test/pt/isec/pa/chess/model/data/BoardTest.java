@@ -0,0 +1,253 @@
+package pt.isec.pa.chess.model.data;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import pt.isec.pa.chess.model.data.pieces.Piece;
+import pt.isec.pa.chess.model.data.pieces.PieceColor;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Differential tests between the bitboard board and the map-based reference board
+ * Both games are driven with the same move sequence and must agree on every query
+ */
+public class BoardTest {
+
+    private static final int GAMES = 20;
+    private static final int MAX_PLIES = 80;
+
+    @Test
+    @DisplayName("Test 1: Initial position is identical on both boards")
+    void testInitialPosition() {
+        ChessGame bitGame = new ChessGame(new BitBoard());
+        ChessGame mapGame = new ChessGame(new MapBoard());
+
+        assertSameState(bitGame, mapGame);
+        assertEquals(8, bitGame.getBoardSize(), "Bitboard is always 8x8");
+    }
+
+    @Test
+    @DisplayName("Test 2: Random games produce the same moves and game states")
+    void testRandomGames() {
+        Random random = new Random(20240601L);
+
+        for (int g = 0; g < GAMES; g++) {
+            ChessGame bitGame = new ChessGame(new BitBoard());
+            ChessGame mapGame = new ChessGame(new MapBoard());
+
+            for (int ply = 0; ply < MAX_PLIES && !bitGame.isGameEnded(); ply++) {
+                List<String[]> moves = legalMoves(bitGame);
+                assertEquals(moves.size(), legalMoves(mapGame).size(), "Legal move count should match");
+                assertEquals(moves.size(), encodedMoves(bitGame, false).size(), "Encoded moves should match string moves");
+                if (moves.isEmpty())
+                    break;
+
+                String[] move = moves.get(random.nextInt(moves.size()));
+                assertTrue(bitGame.play(move[0], move[1]), "Move should be accepted by bitboard game");
+                assertTrue(mapGame.play(move[0], move[1]), "Move should be accepted by map game");
+
+                String moved = bitGame.getPieceAt(move[1]);
+                if (moved.charAt(0) == 'P' && move[1].charAt(1) == '8' || moved.charAt(0) == 'p' && move[1].charAt(1) == '1') {
+                    bitGame.promotePawnAt(move[1], "Queen");
+                    mapGame.promotePawnAt(move[1], "Queen");
+                }
+
+                assertSameState(bitGame, mapGame);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test 3: Remove and place keep occupancy masks consistent")
+    void testOccupancyMasks() {
+        BitBoard board = new BitBoard();
+        assertEquals(0x000000000000FFFFL, board.getOccupancy(PieceColor.WHITE), "White occupies ranks 1 and 2");
+        assertEquals(0xFFFF000000000000L, board.getOccupancy(PieceColor.BLACK), "Black occupies ranks 7 and 8");
+
+        board.removePiece(new Position('e', 2));
+        assertNull(board.getPieceAt(new Position('e', 2)), "e2 should be empty");
+        assertEquals(0L, board.getOccupancy() & (1L << 12), "e2 bit should be cleared");
+
+        board.clear();
+        assertEquals(0L, board.getOccupancy(), "Cleared board has no pieces");
+        assertNull(board.findKingPosition(PieceColor.WHITE), "Cleared board has no king");
+    }
+
+    @Test
+    @DisplayName("Test 4: makeMove followed by unmakeMove restores the exact board state")
+    void testMakeUnmakeRestoresState() {
+        Random random = new Random(7L);
+        BitBoard board = new BitBoard();
+        assertEquals(0, board.getPieceSquareScore(), "Initial position is symmetric");
+        assertEquals(PieceSquareTables.MAX_PHASE, board.getPhase());
+        List<UndoInfo> undos = new ArrayList<>();
+        List<String> snapshots = new ArrayList<>();
+        PieceColor color = PieceColor.WHITE;
+
+        for (int ply = 0; ply < 120; ply++) {
+            List<Integer> moves = new ArrayList<>();
+            for (Piece piece : board.getPiecesOfColor(color))
+                for (Position to : piece.getPossibleMoves(board))
+                    moves.add(board.createMove(piece.getPosition(), to));
+            if (moves.isEmpty() || board.findKingPosition(color.opposite()) == null)
+                break;
+
+            snapshots.add(snapshot(board));
+            undos.add(board.makeMove(moves.get(random.nextInt(moves.size()))));
+            assertEquals(PieceSquareTables.compute(board), board.getPieceSquareScore(), "Incremental evaluation at ply " + ply);
+            assertEquals(Zobrist.computePawnKey(board), board.getPawnKey(), "Incremental pawn key at ply " + ply);
+            color = color.opposite();
+        }
+
+        for (int i = undos.size() - 1; i >= 0; i--) {
+            board.unmakeMove(undos.get(i));
+            assertEquals(snapshots.get(i), snapshot(board), "State after unmaking ply " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Test 5: Zobrist keys identify positions regardless of move order")
+    void testZobristKeys() {
+        ChessGame game = new ChessGame();
+        long initial = game.getZobristKey();
+        assertEquals(Zobrist.compute(new BitBoard(), PieceColor.WHITE), initial, "Incremental key of the initial position");
+
+        for (String[] move : new String[][]{{"g1", "f3"}, {"g8", "f6"}, {"f3", "g1"}, {"f6", "g8"}})
+            assertTrue(game.play(move[0], move[1]));
+        assertEquals(initial, game.getZobristKey(), "Knights back home is the same position");
+
+        assertTrue(game.play("e2", "e4"));
+        ChessGame fromFen = new ChessGame();
+        fromFen.importFen("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1");
+        assertEquals(fromFen.getZobristKey(), game.getZobristKey(), "Uncapturable en passant does not change the key");
+        fromFen.importFen("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR w KQkq - 0 1");
+        assertNotEquals(fromFen.getZobristKey(), game.getZobristKey(), "Side to move changes the key");
+        fromFen.importFen("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b Kkq - 0 1");
+        assertNotEquals(fromFen.getZobristKey(), game.getZobristKey(), "Castling rights change the key");
+
+        fromFen.importFen("rnbqkbnr/ppp1pppp/8/8/3pP3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1");
+        long withEnPassant = fromFen.getZobristKey();
+        fromFen.importFen("rnbqkbnr/ppp1pppp/8/8/3pP3/8/PPPP1PPP/RNBQKBNR b KQkq - 0 1");
+        assertNotEquals(withEnPassant, fromFen.getZobristKey(), "Capturable en passant changes the key");
+    }
+
+    @Test
+    @DisplayName("Test 6: Immutable snapshots follow makeMove and restore the same position")
+    void testBoardSnapshots() {
+        Random random = new Random(20240707L);
+        String[] fens = {
+                Fen.START_POSITION,
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                "n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - - 0 1"
+        };
+        for (String fen : fens) {
+            ChessGame game = new ChessGame();
+            game.importFen(fen);
+            BoardSnapshot start = game.snapshot();
+            BoardSnapshot current = start;
+            Board board = game.copyBoard();
+            PieceColor color = game.getCurrentPlayer();
+            UndoInfo undo = new UndoInfo();
+
+            for (int ply = 0; ply < MAX_PLIES; ply++) {
+                MoveList moves = new MoveList();
+                board.generateMoves(color, moves);
+                List<Integer> legal = new ArrayList<>();
+                for (int i = 0; i < moves.size(); i++)
+                    if (board.isLegal(moves.get(i), undo))
+                        legal.add(moves.get(i));
+                if (legal.isEmpty())
+                    break;
+
+                int move = legal.get(random.nextInt(legal.size()));
+                board.makeMove(move);
+                color = color.opposite();
+                current = current.play(move);
+                assertEquals(BoardSnapshot.of(board, color), current, "Snapshot after " + Move.toString(move));
+            }
+
+            ChessGame restored = new ChessGame();
+            restored.restore(current);
+            assertEquals(Fen.export(board, color), restored.exportFen(), "Restored position");
+            restored.restore(start);
+            assertEquals(game.exportFen(), restored.exportFen(), "Earlier snapshots are never modified");
+            assertEquals(game.getZobristKey(), restored.getZobristKey());
+        }
+    }
+
+    private static String snapshot(Board board) {
+        StringBuilder sb = new StringBuilder();
+        for (int sq = 0; sq < 64; sq++) {
+            Piece piece = board.getPieceAt(Position.of(sq));
+            sb.append(piece == null ? "." : piece.getId() + piece.getPosition() + (piece.hasMoved() ? "*" : "")).append(' ');
+        }
+        return sb.append(board.getLastMoveFrom()).append(board.getLastMoveTo()).append(board.getLastMovedPiece())
+                .append(' ').append(board.getZobristKey(PieceColor.WHITE)).append(' ').append(board.getPieceSquareScore()).toString();
+    }
+
+    private static List<String[]> legalMoves(ChessGame game) {
+        List<String[]> moves = new ArrayList<>();
+        for (int row = 1; row <= 8; row++) {
+            for (char col = 'a'; col <= 'h'; col++) {
+                String from = "" + col + row;
+                String piece = game.getPieceAt(from);
+                if (piece == null || Character.isUpperCase(piece.charAt(0)) != (game.getCurrentPlayer() == PieceColor.WHITE))
+                    continue;
+                for (String to : game.getPossibleMoves(from))
+                    moves.add(new String[]{from, to});
+            }
+        }
+        return moves;
+    }
+
+    private static Set<String> encodedMoves(ChessGame game, boolean withPromotions) {
+        MoveList list = new MoveList();
+        game.generateLegalMoves(list);
+        Set<String> moves = new HashSet<>();
+        for (int i = 0; i < list.size(); i++)
+            moves.add(withPromotions ? Move.toString(list.get(i)) : Move.toString(list.get(i)).substring(0, 4));
+        return moves;
+    }
+
+    private static Set<String> captures(Board board, PieceColor color) {
+        MoveList list = new MoveList();
+        board.generateCaptures(color, list);
+        Set<String> moves = new HashSet<>();
+        for (int i = 0; i < list.size(); i++)
+            moves.add(Move.toString(list.get(i)));
+        return moves;
+    }
+
+    private static void assertSameState(ChessGame bitGame, ChessGame mapGame) {
+        assertEquals(encodedMoves(mapGame, true), encodedMoves(bitGame, true), "Encoded legal moves");
+        assertEquals(mapGame.getCurrentPlayer(), bitGame.getCurrentPlayer(), "Current player");
+        assertEquals(captures(mapGame.copyBoard(), mapGame.getCurrentPlayer()),
+                captures(bitGame.copyBoard(), bitGame.getCurrentPlayer()), "Capture-only generator");
+        assertEquals(mapGame.getZobristKey(), bitGame.getZobristKey(), "Zobrist key");
+        ChessGame rebuilt = new ChessGame();
+        rebuilt.importFen(bitGame.exportFen());
+        assertEquals(rebuilt.getZobristKey(), bitGame.getZobristKey(), "Incremental key should match the rebuilt position");
+        assertEquals(mapGame.isGameEnded(), bitGame.isGameEnded(), "Game ended flag");
+        for (PieceColor color : PieceColor.values())
+            assertEquals(mapGame.isKingInCheck(color), bitGame.isKingInCheck(color), "Check state of " + color);
+
+        for (int row = 1; row <= 8; row++) {
+            for (char col = 'a'; col <= 'h'; col++) {
+                String pos = "" + col + row;
+                assertEquals(mapGame.getPieceAt(pos), bitGame.getPieceAt(pos), "Piece at " + pos);
+
+                List<String> mapMoves = mapGame.getPossibleMoves(pos);
+                List<String> bitMoves = bitGame.getPossibleMoves(pos);
+                assertEquals(mapMoves == null ? null : new HashSet<>(mapMoves),
+                        bitMoves == null ? null : new HashSet<>(bitMoves), "Moves from " + pos);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package pt.isec.pa.chess.model.data;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+
+/**
+ * Perft regression suite for the move generator
+ * Node counts are the published values for the standard perft positions;
+ * each run also prints nodes/second so the suite doubles as a throughput benchmark
+ */
+public class PerftTest {
+
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+    private static final String POSITION_3 = "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+    private static final String POSITION_4 = "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1";
+    private static final String POSITION_5 = "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8";
+    private static final String POSITION_6 = "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10";
+
+    @Test
+    @DisplayName("Test 1: Initial position")
+    void testInitialPosition() {
+        assertPerft(Fen.START_POSITION, 20, 400, 8902, 197281);
+    }
+
+    @Test
+    @DisplayName("Test 2: Kiwipete (castling, en passant, promotions, pins)")
+    void testKiwipete() {
+        assertPerft(KIWIPETE, 48, 2039, 97862);
+    }
+
+    @Test
+    @DisplayName("Test 3: Rook and pawn endgame (en passant discovered checks)")
+    void testPosition3() {
+        assertPerft(POSITION_3, 14, 191, 2812, 43238);
+    }
+
+    @Test
+    @DisplayName("Test 4: Promotions with capture and castling rights lost by capture")
+    void testPosition4() {
+        assertPerft(POSITION_4, 6, 264, 9467);
+    }
+
+    @Test
+    @DisplayName("Test 5: Promotion with check and castling")
+    void testPosition5() {
+        assertPerft(POSITION_5, 44, 1486, 62379);
+    }
+
+    @Test
+    @DisplayName("Test 6: Symmetrical middlegame")
+    void testPosition6() {
+        assertPerft(POSITION_6, 46, 2079, 89890);
+    }
+
+    @Test
+    @DisplayName("Test 7: Divide adds up to perft and FEN round-trips")
+    void testDivideAndFen() {
+        ChessGame game = new ChessGame();
+        game.importFen(KIWIPETE);
+        assertEquals(KIWIPETE, game.exportFen(), "FEN should round-trip");
+
+        Map<String, Long> divide = game.divide(2);
+        assertEquals(48, divide.size(), "Kiwipete has 48 legal moves");
+        assertEquals(2039L, divide.values().stream().mapToLong(Long::longValue).sum(), "Divide should sum to perft(2)");
+        assertEquals(KIWIPETE, game.exportFen(), "Perft should leave the position unchanged");
+    }
+
+    private static void assertPerft(String fen, long... expected) {
+        ChessGame game = new ChessGame();
+        game.importFen(fen);
+
+        for (int depth = 1; depth <= expected.length; depth++) {
+            long start = System.nanoTime();
+            long nodes = game.perft(depth);
+            long elapsed = Math.max(1, System.nanoTime() - start);
+
+            assertEquals(expected[depth - 1], nodes, "perft(" + depth + ") of " + fen);
+            System.out.printf("perft(%d) = %d  %.0f nodes/s  [%s]%n", depth, nodes, nodes * 1e9 / elapsed, fen);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package pt.isec.pa.chess.model.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import pt.isec.pa.chess.model.ChessGameManager;
+import pt.isec.pa.chess.model.TranspositionTable;
+import pt.isec.pa.chess.model.data.Board;
+import pt.isec.pa.chess.model.data.ChessGame;
+import pt.isec.pa.chess.model.data.Move;
+import pt.isec.pa.chess.model.data.MoveList;
+import pt.isec.pa.chess.model.data.Position;
+import pt.isec.pa.chess.model.data.pieces.PieceColor;
+import pt.isec.pa.chess.model.data.pieces.PieceType;
+
+/**
+ * Tests for the alpha-beta search and the computer player mode
+ */
+public class SearchTest {
+
+    @Test
+    @DisplayName("Test 1: Finds a back rank mate in one")
+    void testMateInOne() {
+        ChessGame game = new ChessGame();
+        game.importFen("6k1/5ppp/8/8/8/8/5PPP/3R2K1 w - - 0 1");
+
+        SearchResult result = new Search().search(game, SearchLimits.depth(4));
+        assertEquals("d1d8", Move.toString(result.getBestMove()));
+        assertTrue(result.isMate(), "Score should be a mate score");
+        assertEquals(1, result.getMatePlies());
+    }
+
+    @Test
+    @DisplayName("Test 2: Wins a hanging queen and leaves the game untouched")
+    void testWinsMaterial() {
+        ChessGame game = new ChessGame();
+        game.importFen("rnb1kbnr/pppp1ppp/8/4p1q1/3P4/2N5/PPP1PPPP/R1BQKBNR w KQkq - 0 1");
+        String fen = game.exportFen();
+
+        SearchResult result = new Search().search(game, SearchLimits.depth(4));
+        assertEquals("c1g5", Move.toString(result.getBestMove()));
+        assertTrue(result.getScore() > 500, "Winning a queen should score well above a rook");
+        assertEquals(fen, game.exportFen(), "Search works on a copy of the board");
+    }
+
+    @Test
+    @DisplayName("Test 3: Node budget, principal variation and positions without moves")
+    void testLimitsAndResult() {
+        ChessGame game = new ChessGame();
+        SearchResult result = new Search().search(game, SearchLimits.nodes(20_000));
+        assertNotNull(result);
+        assertTrue(result.getNodes() < 40_000, "Search should stop near the node budget");
+
+        MoveList legal = new MoveList();
+        game.generateLegalMoves(legal);
+        assertTrue(legal.contains(result.getBestMove()), "Best move must be legal");
+        int[] pv = result.getPrincipalVariation();
+        assertTrue(pv.length >= 1 && pv[0] == result.getBestMove(), "PV starts with the best move");
+
+        game.importFen("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1");
+        SearchResult stalemate = new Search().search(game, SearchLimits.depth(3));
+        assertEquals(Move.NONE, stalemate.getBestMove());
+        assertEquals(0, stalemate.getScore());
+    }
+
+    @Test
+    @DisplayName("Test 4: Computer mode replies to the human move")
+    void testComputerPlayer() {
+        ChessGameManager manager = new ChessGameManager();
+        manager.setComputerTime(200);
+        manager.setComputerPlayer(PieceColor.BLACK);
+        assertEquals(PieceColor.WHITE, manager.getCurrentPlayer(), "Computer waits for white");
+
+        assertTrue(manager.play("e2", "e4"));
+        assertTrue(manager.isComputerThinking(), "The reply is searched in the background");
+        manager.waitForComputer();
+        assertEquals(PieceColor.WHITE, manager.getCurrentPlayer(), "Computer should have replied as black");
+    }
+
+    @Test
+    @DisplayName("Test 5: Lazy SMP threads share the table and agree on the result")
+    void testLazySmp() {
+        ChessGame game = new ChessGame();
+        game.importFen("6k1/5ppp/8/8/8/8/5PPP/3R2K1 w - - 0 1");
+        LazySmpSearch search = new LazySmpSearch(4);
+
+        SearchResult result = search.search(game, SearchLimits.depth(4));
+        assertEquals("d1d8", Move.toString(result.getBestMove()));
+        assertEquals(4, search.getThreads());
+        assertEquals(search.getNodes(), result.getNodes(), "Node count covers every thread");
+
+        game.importFen("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        MoveList legal = new MoveList();
+        game.generateLegalMoves(legal);
+        assertTrue(legal.contains(search.search(game, SearchLimits.time(200)).getBestMove()), "Timed search returns a legal move");
+
+        // The node budget covers all threads together
+        search.search(game, SearchLimits.nodes(20_000));
+        assertTrue(search.getNodes() <= 20_000 + 2 * 4 * 256, "Searched " + search.getNodes() + " nodes");
+    }
+
+    @Test
+    @DisplayName("Test 6: Fork/join YBW is deterministic across thread counts")
+    void testYbwDeterminism() {
+        ChessGame game = new ChessGame();
+        game.importFen("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+
+        YbwSearch serial = new YbwSearch(1);
+        YbwSearch parallel = new YbwSearch(4);
+        try {
+            SearchResult expected = serial.search(game, 4);
+            for (int run = 0; run < 3; run++) {
+                SearchResult result = parallel.search(game, 4);
+                assertEquals(expected.getNodes(), result.getNodes(), "Node count must be reproducible");
+                assertEquals(expected.getScore(), result.getScore());
+                assertEquals(expected.getBestMove(), result.getBestMove());
+            }
+
+            game.importFen("6k1/5ppp/8/8/8/8/5PPP/3R2K1 w - - 0 1");
+            assertEquals("d1d8", Move.toString(parallel.search(game, 4).getBestMove()));
+
+            // No moves at the root: the search stops after the first iteration and says so
+            game.importFen("3R2k1/5ppp/8/8/8/8/5PPP/6K1 b - - 1 1");
+            assertEquals(1, parallel.search(game, 4).getDepth(), "Reports the depth actually searched");
+        } finally {
+            serial.shutdown();
+            parallel.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Test 7: Static exchange evaluation and quiescence")
+    void testStaticExchangeAndQuiescence() {
+        ChessGame game = new ChessGame();
+        game.importFen("4k3/8/2p5/3p4/4P3/8/8/4K3 w - - 0 1");
+        assertEquals(0, see(game.copyBoard(), "e4", "d5"), "Pawn trade");
+        game.importFen("3rk3/8/8/3p4/8/8/3R4/3RK3 w - - 0 1");
+        assertEquals(100, see(game.copyBoard(), "d2", "d5"), "Doubled rooks win the pawn through the x-ray");
+
+        game.importFen("4k3/8/2p5/3p4/8/8/8/3QK3 w - - 0 1");
+        assertEquals(-800, see(game.copyBoard(), "d1", "d5"), "Queen for a defended pawn");
+        SearchResult result = new Search().search(game, SearchLimits.depth(1));
+        assertNotEquals("d1d5", Move.toString(result.getBestMove()), "Quiescence sees the recapture beyond the horizon");
+        assertTrue(result.getScore() > 500, "Still a queen against two pawns");
+
+        // Quiescence nodes count towards the node budget
+        game.importFen("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        Search budgeted = new Search();
+        budgeted.search(game, SearchLimits.nodes(5000));
+        assertTrue(budgeted.getNodes() <= 5000 + 256, "Searched " + budgeted.getNodes() + " nodes");
+    }
+
+    @Test
+    @DisplayName("Test 8: Move ordering puts the table move, captures and killers first")
+    void testMoveOrdering() {
+        ChessGame game = new ChessGame();
+        game.importFen("4k3/8/2p5/3p4/4P3/8/8/R3K2R w KQ - 0 1");
+        Board board = game.copyBoard();
+        MoveList moves = new MoveList();
+        board.generateMoves(PieceColor.WHITE, moves);
+
+        int ttMove = board.createMove(Position.fromString("a1"), Position.fromString("a8"));
+        int killer = board.createMove(Position.fromString("h1"), Position.fromString("h5"));
+        MoveOrdering ordering = new MoveOrdering();
+        ordering.onCutoff(PieceColor.WHITE, killer, 4, 3);
+
+        int[] scores = new int[moves.size()];
+        ordering.score(board, PieceColor.WHITE, moves, ttMove, 3, scores);
+        assertEquals(ttMove, MoveOrdering.nextBest(moves, scores, 0));
+        assertEquals("e4d5", Move.toString(MoveOrdering.nextBest(moves, scores, 1)));
+        assertEquals(killer, MoveOrdering.nextBest(moves, scores, 2));
+        for (int i = 3; i < moves.size(); i++) {
+            MoveOrdering.nextBest(moves, scores, i);
+            assertTrue(scores[i - 1] >= scores[i], "Remaining moves come out in priority order");
+        }
+    }
+
+    @Test
+    @DisplayName("Test 9: Selective search finds the same tactics with far fewer nodes")
+    void testSelectiveSearch() {
+        ChessGame game = new ChessGame();
+        game.importFen("rnb1kbnr/pppp1ppp/8/4p1q1/3P4/2N5/PPP1PPPP/R1BQKBNR w KQkq - 0 1");
+        for (SearchConfig config : new SearchConfig[]{SearchConfig.none(), SearchConfig.all()}) {
+            SearchResult result = new Search(new TranspositionTable(1), config).search(game, SearchLimits.depth(5));
+            assertEquals("c1g5", Move.toString(result.getBestMove()), "Hanging queen with " + config);
+        }
+
+        game.importFen("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        long plain = new Search(new TranspositionTable(1), SearchConfig.none()).search(game, SearchLimits.depth(5)).getNodes();
+        long selective = new Search(new TranspositionTable(1), SearchConfig.all()).search(game, SearchLimits.depth(5)).getNodes();
+        assertTrue(selective < plain / 2, "Selective " + selective + " nodes vs plain " + plain);
+        assertFalse(SearchConfig.all().without(SearchConfig.Feature.NULL_MOVE).isEnabled(SearchConfig.Feature.NULL_MOVE));
+    }
+
+    @Test
+    @DisplayName("Test 10: Pawn structure terms and the pawn hash table")
+    void testPawnStructure() {
+        ChessGame game = new ChessGame();
+        // White: a2 isolated, c2 and c3 doubled; black: h5 passed
+        game.importFen("4k3/8/8/7p/8/2P5/P1P5/4K3 w - - 0 1");
+        Board board = game.copyBoard();
+        long white = board.getBitboard(PieceColor.WHITE, PieceType.PAWN);
+        long black = board.getBitboard(PieceColor.BLACK, PieceType.PAWN);
+        assertEquals(PawnStructure.DOUBLED + 3 * PawnStructure.ISOLATED + PawnStructure.PASSED[2] + PawnStructure.PASSED[3],
+                PawnStructure.evaluate(PieceColor.WHITE, white, black), "Every white pawn is isolated, a2 and c3 are passed");
+        assertEquals(PawnStructure.ISOLATED + PawnStructure.PASSED[4], PawnStructure.evaluate(PieceColor.BLACK, black, white));
+
+        PawnHashTable table = new PawnHashTable(16);
+        int score = Evaluator.evaluate(board, PieceColor.WHITE, table);
+        assertEquals(Evaluator.evaluate(board, PieceColor.WHITE), score, "Cached and direct evaluation agree");
+        assertEquals(-score, Evaluator.evaluate(board, PieceColor.BLACK, table));
+        assertEquals(1, table.getMisses());
+        assertEquals(1, table.getHits());
+        assertEquals(50.0, table.getHitRate(), 1e-9);
+
+        Search search = new Search();
+        search.search(new ChessGame(), SearchLimits.depth(5));
+        assertTrue(search.getPawnTable().getHitRate() > 50, "Pawn structures repeat during a search");
+    }
+
+    @Test
+    @DisplayName("Test 11: Time manager budgets and adapts to best move stability")
+    void testTimeManager() {
+        TimeManager tm = new TimeManager(60_000, 1_000, 0);
+        assertEquals((60_000 - TimeManager.DEFAULT_OVERHEAD) / 30 + 750, tm.getSoftLimit());
+        assertTrue(tm.getHardLimit() > tm.getSoftLimit() && tm.getHardLimit() <= 60_000 * 0.8);
+        assertTrue(new TimeManager(100, 0, 0).getHardLimit() < 100, "Never spends the whole clock");
+        assertTrue(new TimeManager(60_000, 0, 5).getSoftLimit() > tm.getSoftLimit(), "Fewer moves to go, more time per move");
+
+        // The best move keeps changing: the soft limit grows
+        TimeManager unstable = new TimeManager(60_000, 0, 0);
+        for (int i = 0; i < 4; i++)
+            unstable.shouldStop(new SearchResult(i + 1, 0, i + 1, 0, 0, new int[0]), 0);
+        assertTrue(unstable.getAdjustedSoftLimit() > unstable.getSoftLimit());
+
+        // The same move dominates: stops before the soft limit
+        TimeManager stable = new TimeManager(60_000, 0, 0);
+        for (int i = 0; i < 8; i++)
+            stable.shouldStop(new SearchResult(1, 0, i + 1, 0, 0, new int[0]), 0);
+        assertTrue(stable.getAdjustedSoftLimit() < stable.getSoftLimit());
+        assertTrue(stable.shouldStop(new SearchResult(1, 0, 9, 0, 0, new int[0]), stable.getSoftLimit() / 2));
+
+        // A clocked search returns a move within the hard limit
+        ChessGame game = new ChessGame();
+        TimeManager blitz = new TimeManager(3_000, 0, 0);
+        long start = System.currentTimeMillis();
+        SearchResult result = new Search().search(game, SearchLimits.clock(blitz));
+        assertNotEquals(Move.NONE, result.getBestMove());
+        assertTrue(System.currentTimeMillis() - start <= blitz.getHardLimit() + 100, "Respects the hard limit");
+    }
+
+    private static int see(Board board, String from, String to) {
+        return StaticExchange.evaluate(board, board.createMove(Position.fromString(from), Position.fromString(to)));
+    }
+}